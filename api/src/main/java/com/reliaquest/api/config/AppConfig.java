@@ -1,14 +1,97 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.web.UpstreamMetricsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class AppConfig {
 
+    /*
+     * Keep-alive connection pool shared by every upstream call.
+     * HttpClient negotiates gzip/deflate and decompresses responses transparently.
+     */
+    @Bean(destroyMethod = "close")
+    @Profile("!reactive")
+    public CloseableHttpClient httpClient(
+            @Value("${api.http.max-connections:50}") int maxConnections,
+            @Value("${api.http.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${api.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${api.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${api.http.idle-timeout:30s}") Duration idleTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                // All traffic goes to the single mock server route
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                .setResponseTimeout(Timeout.of(readTimeout))
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .build();
+    }
+
+    @Bean
+    @Profile("!reactive")
+    public RestTemplate restTemplate(CloseableHttpClient httpClient, MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(new UpstreamMetricsInterceptor(meterRegistry));
+        return restTemplate;
+    }
+
+    /*
+     * Non-blocking client for the reactive profile, with the same limits as the blocking pool. Requests are
+     * multiplexed over a few event-loop threads; callers waiting for a connection queue without holding a thread.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Profile("reactive")
+    public WebClient webClient(
+            WebClient.Builder builder,
+            @Value("${api.http.max-connections:50}") int maxConnections,
+            @Value("${api.http.connect-timeout:1s}") Duration connectTimeout,
+            @Value("${api.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${api.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${api.http.idle-timeout:30s}") Duration idleTimeout) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("upstream")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(idleTimeout)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout)
+                .compress(true);
+        return builder.clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 }
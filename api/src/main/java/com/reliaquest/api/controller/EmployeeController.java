@@ -4,22 +4,31 @@ import com.reliaquest.api.exception.ServiceUnavailableException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.Roster;
+import com.reliaquest.api.service.RosterCache;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
 
 @RestController
 @RequestMapping("/api/v1/employee")
+@Profile("!reactive")
 public class EmployeeController implements IEmployeeController<Employee, EmployeeInput> {
 
     private static final Logger log = LoggerFactory.getLogger(EmployeeController.class);
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+    private static final String X_CACHE = "X-Cache";
     private final EmployeeService employeeService;
 
     public EmployeeController(EmployeeService employeeService) {
@@ -34,7 +43,7 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
             return new ResponseEntity<>(employees, HttpStatus.OK);
         } catch (ServiceUnavailableException e) {
             log.error("Service unavailable while fetching all employees", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            return fromLastKnownRoster(Roster::getEmployees);
         }
     }
 
@@ -46,7 +55,7 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
             return new ResponseEntity<>(matchingEmployees, HttpStatus.OK);
         } catch (ServiceUnavailableException e) {
             log.error("Service unavailable while searching employees by name: {}", searchString, e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            return fromLastKnownRoster(roster -> roster.search(searchString));
         }
     }
 
@@ -74,7 +83,7 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
             return new ResponseEntity<>(highestSalary, HttpStatus.OK);
         } catch (ServiceUnavailableException e) {
             log.error("Service unavailable while fetching highest salary", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            return fromLastKnownRoster(Roster::getHighestSalary);
         }
     }
 
@@ -86,7 +95,8 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
             return new ResponseEntity<>(topEarners, HttpStatus.OK);
         } catch (ServiceUnavailableException e) {
             log.error("Service unavailable while fetching top 10 earners", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            return fromLastKnownRoster(roster ->
+                    roster.getTopEarners(10).stream().map(Employee::getName).toList());
         }
     }
 
@@ -96,6 +106,9 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
             Employee createdEmployee = employeeService.createEmployee(employeeInput);
             log.info("Created employee: {}", createdEmployee);
             return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
+        } catch (HttpClientErrorException e) {
+            log.warn("Server rejected employee input: {}", e.getStatusText());
+            return ResponseEntity.status(e.getStatusCode()).build();
         } catch (ServiceUnavailableException e) {
             log.error("Service unavailable while creating employee", e);
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
@@ -117,4 +130,26 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
     }
+
+    /*
+     * Answers a read the server could not serve from the last roster received, however old. It is marked stale with
+     * X-Cache and its Age in seconds; the Warning header, deprecated by RFC 9111, is kept for existing clients.
+     * Only a read with no roster to fall back on fails with a 503.
+     */
+    private <T> ResponseEntity<T> fromLastKnownRoster(Function<Roster, T> read) {
+        return employeeService
+                .getLastKnownRoster()
+                .map(stale -> staleResponse(stale, read))
+                .orElseGet(() ->
+                        ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    static <T> ResponseEntity<T> staleResponse(RosterCache.StaleRoster stale, Function<Roster, T> read) {
+        log.warn("Serving the last known roster, {} old, which may be stale", stale.age());
+        return ResponseEntity.ok()
+                .header(X_CACHE, "stale")
+                .header(HttpHeaders.AGE, Long.toString(stale.age().toSeconds()))
+                .header(HttpHeaders.WARNING, STALE_WARNING)
+                .body(read.apply(stale.roster()));
+    }
 }
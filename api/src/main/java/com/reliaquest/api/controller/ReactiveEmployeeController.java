@@ -0,0 +1,183 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import com.reliaquest.api.service.Roster;
+import java.util.List;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@link IEmployeeController} contract served by {@link ReactiveEmployeeService}, selected with the
+ * {@code reactive} profile.
+ *
+ * Handlers return deferred results: the servlet thread is released as soon as the handler returns and the response
+ * is written when the result completes, so clients waiting on a rate-limited server hold no request threads. Routes,
+ * bodies, status codes and the stale fallback for reads match {@link EmployeeController}.
+ */
+@RestController
+@RequestMapping("/api/v1/employee")
+@Profile("reactive")
+public class ReactiveEmployeeController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+    private final ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        log.info("Received request to get all employees");
+        return employeeService
+                .getAllEmployees()
+                .map(employees -> {
+                    log.info("Returning {} employees", employees.size());
+                    return new ResponseEntity<>(employees, HttpStatus.OK);
+                })
+                .onErrorResume(ServiceUnavailableException.class, e -> {
+                    log.error("Service unavailable while fetching all employees", e);
+                    return fromLastKnownRoster(Roster::getEmployees);
+                });
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable("searchString") String searchString) {
+        log.info("Received request to search employees by name: {}", searchString);
+        return employeeService
+                .searchEmployeesByName(searchString)
+                .map(matchingEmployees -> {
+                    log.info("Found {} employees matching search string '{}'", matchingEmployees.size(), searchString);
+                    return new ResponseEntity<>(matchingEmployees, HttpStatus.OK);
+                })
+                .onErrorResume(ServiceUnavailableException.class, e -> {
+                    log.error("Service unavailable while searching employees by name: {}", searchString, e);
+                    return fromLastKnownRoster(roster -> roster.search(searchString));
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") String id) {
+        log.info("Received request to get employee by ID: {}", id);
+        return employeeService
+                .getEmployeeById(id)
+                .map(employee -> {
+                    log.info("Found employee with ID: {}", id);
+                    return new ResponseEntity<>(employee, HttpStatus.OK);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("Employee with ID: {} not found", id);
+                    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+                }))
+                .onErrorResume(ServiceUnavailableException.class, e -> {
+                    log.error("Service unavailable while fetching employee with ID: {}", id, e);
+                    return serviceUnavailable();
+                });
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        log.info("Received request to get highest salary of employees");
+        return employeeService
+                .getHighestSalary()
+                .map(highestSalary -> {
+                    log.info("Highest salary found: {}", highestSalary);
+                    return new ResponseEntity<>(highestSalary, HttpStatus.OK);
+                })
+                .onErrorResume(ServiceUnavailableException.class, e -> {
+                    log.error("Service unavailable while fetching highest salary", e);
+                    return fromLastKnownRoster(Roster::getHighestSalary);
+                });
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        log.info("Received request to get top 10 highest earning employee names");
+        return employeeService
+                .getTopTenHighestEarningEmployeeNames()
+                .map(topEarners -> {
+                    log.info("Returning {} top earners", topEarners.size());
+                    return new ResponseEntity<>(topEarners, HttpStatus.OK);
+                })
+                .onErrorResume(ServiceUnavailableException.class, e -> {
+                    log.error("Service unavailable while fetching top 10 earners", e);
+                    return fromLastKnownRoster(roster -> roster.getTopEarners(10).stream()
+                            .map(Employee::getName)
+                            .toList());
+                });
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody EmployeeInput employeeInput) {
+        log.info("Received request to create employee with input: {}", employeeInput);
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(createdEmployee -> {
+                    log.info("Created employee: {}", createdEmployee);
+                    return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
+                })
+                .onErrorResume(
+                        e -> e instanceof WebClientResponseException response
+                                && response.getStatusCode().is4xxClientError(),
+                        e -> {
+                            WebClientResponseException response = (WebClientResponseException) e;
+                            log.warn("Server rejected employee input: {}", response.getStatusText());
+                            return Mono.just(ResponseEntity.status(response.getStatusCode())
+                                    .build());
+                        })
+                .onErrorResume(ServiceUnavailableException.class, e -> {
+                    log.error("Service unavailable while creating employee", e);
+                    return serviceUnavailable();
+                });
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable("id") String id) {
+        log.info("Received request to delete employee with ID: {}", id);
+        return employeeService
+                .deleteEmployee(id)
+                .map(employeeName -> {
+                    log.info("Deleted employee with ID: {}, name: {}", id, employeeName);
+                    return new ResponseEntity<>(employeeName, HttpStatus.OK);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.warn("Employee with ID: {} not found for deletion", id);
+                    return new ResponseEntity<>("Employee with id: " + id + " not found", HttpStatus.NOT_FOUND);
+                }))
+                .onErrorResume(ServiceUnavailableException.class, e -> {
+                    log.error("Service unavailable while deleting employee with ID: {}", id, e);
+                    return serviceUnavailable();
+                });
+    }
+
+    /*
+     * Answers a read the server could not serve from the last roster received, as EmployeeController does
+     */
+    private <T> Mono<ResponseEntity<T>> fromLastKnownRoster(Function<Roster, T> read) {
+        return employeeService
+                .getLastKnownRoster()
+                .map(stale -> Mono.just(EmployeeController.staleResponse(stale, read)))
+                .orElseGet(ReactiveEmployeeController::serviceUnavailable);
+    }
+
+    private static <T> Mono<ResponseEntity<T>> serviceUnavailable() {
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChange {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    private long version;
+    private Type type;
+    private Employee employee;
+}
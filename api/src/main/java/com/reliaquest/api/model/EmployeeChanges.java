@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChanges {
+    private String version;
+    private boolean resync;
+    private List<EmployeeChange> changes;
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.model;
+
+import lombok.Data;
+
+@Data
+public class HighestSalaryResponse {
+    private Integer data;
+    private String status;
+}
@@ -1,137 +1,623 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.reliaquest.api.exception.ServiceUnavailableException;
 import com.reliaquest.api.model.DeleteEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeChangesResponse;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.api.model.HighestSalaryResponse;
+import com.reliaquest.api.web.AdaptiveRateLimiter.Priority;
+import com.reliaquest.api.web.MicroBatcher;
 import com.reliaquest.api.web.NetworkHandler;
+import com.reliaquest.api.web.SingleFlight;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.Callable;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 @Service
+@Profile("!reactive")
 public class EmployeeService {
 
     private static final Logger log = LoggerFactory.getLogger(EmployeeService.class);
+    private static final int TOP_EARNERS = 10;
+    private static final ObjectReader EMPLOYEE_READER =
+            new ObjectMapper().readerFor(Employee.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     private final RestTemplate restTemplate;
+    private final RosterCache rosterCache;
+    private final SingleFlight singleFlight;
+    private final NetworkHandler networkHandler;
+    private final MicroBatcher microBatcher;
     private final String serverUrl = "http://localhost:8112/api/v1/employee";
+    private volatile boolean aggregatesSupported = true;
+    private volatile boolean deleteByIdSupported = true;
+    private volatile boolean bulkCreateSupported = true;
+    private volatile boolean changesSupported = true;
+    private volatile boolean rosterPushed;
+    private volatile TaggedRoster lastRoster;
 
-    public EmployeeService(RestTemplate restTemplate) {
+    public EmployeeService(
+            RestTemplate restTemplate,
+            RosterCache rosterCache,
+            SingleFlight singleFlight,
+            NetworkHandler networkHandler,
+            MicroBatcher microBatcher) {
         this.restTemplate = restTemplate;
+        this.rosterCache = rosterCache;
+        this.singleFlight = singleFlight;
+        this.networkHandler = networkHandler;
+        this.microBatcher = microBatcher;
     }
 
     public List<Employee> getAllEmployees() throws ServiceUnavailableException {
+        return NetworkHandler.await(getAllEmployeesAsync());
+    }
+
+    public CompletableFuture<List<Employee>> getAllEmployeesAsync() {
+        // Served from the in-memory snapshot; only a miss or an expired snapshot goes upstream
+        return rosterCache.get(this::fetchAllEmployees, this::syncRoster).thenApply(Roster::getEmployees);
+    }
+
+    private CompletableFuture<List<Employee>> fetchAllEmployees() {
         log.info("Fetching all employees from server at {}", serverUrl);
-        Callable<EmployeesResponse> callable = () -> restTemplate.getForObject(serverUrl, EmployeesResponse.class);
 
-        // NetworkHandler provides simple retry logic with exponential backoff
-        EmployeesResponse response = NetworkHandler.call(callable, 3, 1000);
-        List<Employee> employees = response.getData();
-        log.info("Received {} employees from server", employees.size());
-        return employees;
+        // NetworkHandler provides retry logic with exponential backoff
+        // Concurrent cache misses share a single upstream call
+        return singleFlight.callAsync("employees", () -> {
+            // Revalidate the last roster received: while the server's version is unchanged it answers 304,
+            // transferring nothing, and does not charge the request against its rate limit
+            TaggedRoster last = lastRoster;
+            HttpHeaders headers = new HttpHeaders();
+            if (last != null) {
+                headers.setIfNoneMatch(last.etag());
+            }
+            return networkHandler
+                    .callAsync(
+                            Priority.NORMAL,
+                            () -> restTemplate.exchange(
+                                    serverUrl, HttpMethod.GET, new HttpEntity<>(headers), EmployeesResponse.class),
+                            EmployeeService::isNotModified)
+                    .thenApply(response -> {
+                        if (last != null && isNotModified(response)) {
+                            log.info(
+                                    "Roster unchanged on server, keeping {} employees",
+                                    last.employees().size());
+                            return last.employees();
+                        }
+                        List<Employee> employees =
+                                List.copyOf(response.getBody().getData());
+                        String etag = response.getHeaders().getETag();
+                        lastRoster = etag == null ? null : new TaggedRoster(etag, employees);
+                        log.info("Received {} employees from server", employees.size());
+                        return employees;
+                    });
+        });
+    }
+
+    /*
+     * Applies only the changes made since the roster was received, so keeping it current costs in proportion to
+     * the churn rather than the roster size. Completes with false when the roster has to be fetched in full again.
+     */
+    private CompletableFuture<Boolean> syncRoster(Roster roster) {
+        TaggedRoster last = lastRoster;
+        if (last == null || last.employees() != roster.getEmployees()) {
+            // The tag belongs to a roster fetched since, which was discarded in favour of this one
+            return CompletableFuture.completedFuture(false);
+        }
+        if (rosterPushed) {
+            // RosterSubscriber applies every change as it is made, so there is nothing to ask the server
+            return CompletableFuture.completedFuture(true);
+        }
+        if (!changesSupported) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return singleFlight.callAsync("changes", () -> {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setIfNoneMatch(last.etag());
+            return networkHandler
+                    .callAsync(
+                            Priority.NORMAL,
+                            () -> restTemplate.exchange(
+                                    serverUrl + "/changes?since={since}",
+                                    HttpMethod.GET,
+                                    new HttpEntity<>(headers),
+                                    EmployeeChangesResponse.class,
+                                    last.etag()),
+                            EmployeeService::isNotModified)
+                    .handle((response, error) -> {
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                            if (cause instanceof HttpClientErrorException.NotFound) {
+                                log.warn("Server does not publish roster changes, fetching the roster in full");
+                                changesSupported = false;
+                                return false;
+                            }
+                            throw cause instanceof RuntimeException e ? e : new CompletionException(cause);
+                        }
+                        if (isNotModified(response)) {
+                            log.info("Roster unchanged on server");
+                            return true;
+                        }
+                        EmployeeChanges changes = response.getBody().getData();
+                        if (changes.isResync()) {
+                            log.info(
+                                    "Roster changes since {} are no longer available, fetching it in full",
+                                    last.etag());
+                            return false;
+                        }
+                        for (EmployeeChange change : changes.getChanges()) {
+                            switch (change.getType()) {
+                                case CREATED -> roster.add(change.getEmployee());
+                                case DELETED -> roster.remove(
+                                        change.getEmployee().getId());
+                            }
+                        }
+                        lastRoster = new TaggedRoster("\"" + changes.getVersion() + "\"", roster.getEmployees());
+                        log.info(
+                                "Applied {} roster changes from server",
+                                changes.getChanges().size());
+                        return true;
+                    });
+        });
+    }
+
+    /*
+     * Applies a mutation to the cached roster. The tag of the last roster received keeps describing it, since the
+     * server reports the mutation again in the changes since that tag and applying it twice has no effect.
+     */
+    private void updateRoster(Consumer<Roster> mutation) {
+        rosterCache.update(roster -> {
+            TaggedRoster last = lastRoster;
+            boolean tagged = last != null && last.employees() == roster.getEmployees();
+            mutation.accept(roster);
+            if (tagged) {
+                lastRoster = new TaggedRoster(last.etag(), roster.getEmployees());
+            }
+        });
+    }
+
+    /**
+     * @return the roster as last received, however old, for answering reads while the server cannot be reached
+     */
+    public Optional<RosterCache.StaleRoster> getLastKnownRoster() {
+        return Optional.ofNullable(rosterCache.peekStale());
+    }
+
+    /**
+     * @return the server version of the cached roster, or {@code null} when there is none
+     */
+    public String getRosterVersion() {
+        TaggedRoster last = lastRoster;
+        return last == null ? null : unquote(last.etag());
+    }
+
+    /**
+     * While set, an expiring roster is kept rather than synchronized, as every change is applied as it is made.
+     */
+    public void setRosterPushed(boolean pushed) {
+        rosterPushed = pushed;
+    }
+
+    /**
+     * Applies a change pushed by the server; one the cached roster already reflects is ignored.
+     *
+     * @param version the roster version the change produced
+     */
+    public void applyRosterChange(String version, EmployeeChange change) {
+        rosterCache.update(roster -> {
+            TaggedRoster last = lastRoster;
+            boolean tagged = last != null && last.employees() == roster.getEmployees();
+            if (tagged && !isNewer(version, unquote(last.etag()))) {
+                return;
+            }
+            switch (change.getType()) {
+                case CREATED -> roster.add(change.getEmployee());
+                case DELETED -> roster.remove(change.getEmployee().getId());
+            }
+            if (tagged) {
+                lastRoster = new TaggedRoster("\"" + version + "\"", roster.getEmployees());
+            }
+        });
+    }
+
+    /**
+     * Drops the cached roster after the server could not say what changed, so it is fetched in full again.
+     */
+    public void resyncRoster() {
+        rosterCache.invalidate();
+    }
+
+    /*
+     * Versions are written <epoch>-<n>; those of another epoch predate a server restart and are never newer
+     */
+    private static boolean isNewer(String version, String than) {
+        int separator = version.lastIndexOf('-');
+        int thanSeparator = than.lastIndexOf('-');
+        if (separator < 0
+                || thanSeparator < 0
+                || !version.substring(0, separator).equals(than.substring(0, thanSeparator))) {
+            return true;
+        }
+        try {
+            return Long.parseLong(version.substring(separator + 1)) > Long.parseLong(than.substring(thanSeparator + 1));
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static String unquote(String etag) {
+        return etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"")
+                ? etag.substring(1, etag.length() - 1)
+                : etag;
+    }
+
+    private static boolean isNotModified(ResponseEntity<?> response) {
+        return response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED);
+    }
+
+    /**
+     * Streams the roster from the server's NDJSON endpoint without materialising it, bypassing the roster cache.
+     * Employees are parsed one line at a time as {@code reducer} consumes the stream.
+     *
+     * @param reducer applied to the stream of employees; it runs again from the start if the call is retried,
+     * so it must not have side effects beyond its result
+     */
+    public <R> CompletableFuture<R> streamAllEmployeesAsync(Function<Stream<Employee>, R> reducer) {
+        log.info("Streaming all employees from server at {}", serverUrl);
+        return networkHandler.callAsync(
+                Priority.NORMAL,
+                () -> restTemplate.execute(
+                        serverUrl + "/stream",
+                        HttpMethod.GET,
+                        request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                        response -> {
+                            try (MappingIterator<Employee> employees = EMPLOYEE_READER.readValues(response.getBody())) {
+                                return reducer.apply(StreamSupport.stream(
+                                        Spliterators.spliteratorUnknownSize(employees, Spliterator.ORDERED), false));
+                            }
+                        }));
     }
 
     public List<Employee> searchEmployeesByName(String searchString) throws ServiceUnavailableException {
+        return NetworkHandler.await(searchEmployeesByNameAsync(searchString));
+    }
+
+    public CompletableFuture<List<Employee>> searchEmployeesByNameAsync(String searchString) {
         log.info("Searching employees by name with search string: {}", searchString);
-        List<Employee> allEmployees = getAllEmployees();
-        List<Employee> matchingEmployees = allEmployees.stream()
-                .filter(employee -> employee.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(Collectors.toList());
-        log.info("Found {} employees matching '{}'", matchingEmployees.size(), searchString);
-        return matchingEmployees;
+        return rosterCache.get(this::fetchAllEmployees, this::syncRoster).thenApply(roster -> {
+            List<Employee> matchingEmployees = roster.search(searchString);
+            log.info("Found {} employees matching '{}'", matchingEmployees.size(), searchString);
+            return matchingEmployees;
+        });
     }
 
     public Employee getEmployeeById(String id) throws ServiceUnavailableException {
+        return NetworkHandler.await(getEmployeeByIdAsync(id));
+    }
+
+    public CompletableFuture<Employee> getEmployeeByIdAsync(String id) {
+        return fetchEmployeeById(id, Priority.LOW);
+    }
+
+    private CompletableFuture<Employee> fetchEmployeeById(String id, Priority priority) {
         log.info("Fetching employee by ID: {} from server", id);
-        try {
-            Callable<EmployeeResponse> callable =
-                    () -> restTemplate.getForObject(serverUrl + "/" + id, EmployeeResponse.class);
-            EmployeeResponse response = NetworkHandler.call(callable, 3, 1000);
-            Employee employee = response.getData();
-            if (Objects.nonNull(employee)) {
-                log.info("Retrieved employee with ID: {}", id);
-            } else {
-                log.warn("No employee found with ID: {}", id);
-            }
-            return employee;
-        } catch (ServiceUnavailableException e) {
-            log.error("Service unavailable while fetching employee with ID: {}", id, e);
-            throw e;
-        } catch (Exception e) {
-            log.error("Error fetching employee with ID: {}", id, e);
-            return null;
-        }
+        return singleFlight
+                .callAsync(
+                        "employee:" + id,
+                        () -> networkHandler.callAsync(
+                                priority,
+                                () -> restTemplate.getForObject(serverUrl + "/" + id, EmployeeResponse.class)))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        if (cause instanceof ServiceUnavailableException e) {
+                            log.error("Service unavailable while fetching employee with ID: {}", id, e);
+                            throw e;
+                        }
+                        // Non-retryable failures such as a 404 mean there is no such employee
+                        log.error("Error fetching employee with ID: {}", id, cause);
+                        return null;
+                    }
+                    Employee employee = response.getData();
+                    if (Objects.nonNull(employee)) {
+                        log.info("Retrieved employee with ID: {}", id);
+                    } else {
+                        log.warn("No employee found with ID: {}", id);
+                    }
+                    return employee;
+                });
     }
 
     public Integer getHighestSalary() throws ServiceUnavailableException {
+        return NetworkHandler.await(getHighestSalaryAsync());
+    }
+
+    public CompletableFuture<Integer> getHighestSalaryAsync() {
         log.info("Calculating highest salary among employees");
-        List<Employee> allEmployees = getAllEmployees();
+        Roster cached = rosterCache.peek();
+        if (cached != null) {
+            log.info("Highest salary from cached roster: {}", cached.getHighestSalary());
+            return CompletableFuture.completedFuture(cached.getHighestSalary());
+        }
 
-        // In terms of scalability this responsibility could be pushed onto a DB query
-        Integer highestSalary =
-                allEmployees.stream().mapToInt(Employee::getSalary).max().orElse(0);
-        log.info("Highest salary calculated: {}", highestSalary);
-        return highestSalary;
+        // Without a live snapshot, ask the server for the aggregate instead of downloading the roster
+        return fetchAggregate("/stats/highestSalary", HighestSalaryResponse.class)
+                .thenCompose(response -> {
+                    if (response == null || response.getData() == null) {
+                        return scanSalaries().thenApply(aggregates -> {
+                            log.info("Highest salary calculated: {}", aggregates.getHighestSalary());
+                            return aggregates.getHighestSalary();
+                        });
+                    }
+                    log.info("Highest salary reported by server: {}", response.getData());
+                    return CompletableFuture.completedFuture(response.getData());
+                });
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() throws ServiceUnavailableException {
+        return NetworkHandler.await(getTopTenHighestEarningEmployeeNamesAsync());
+    }
+
+    public CompletableFuture<List<String>> getTopTenHighestEarningEmployeeNamesAsync() {
         log.info("Retrieving top 10 highest earning employee names");
-        List<Employee> allEmployees = getAllEmployees();
+        Roster cached = rosterCache.peek();
+        if (cached != null) {
+            return CompletableFuture.completedFuture(topEarnerNames(cached.getTopEarners(TOP_EARNERS)));
+        }
 
-        // My assumption here is that for this task the server has limited Employees
-        // Therefore sorting ~30 employees is negligible
-        // In terms of scalability this responsibility could be pushed onto a DB query
-        List<String> topEarners = allEmployees.stream()
+        return fetchAggregate("/stats/topBySalary?limit=" + TOP_EARNERS, EmployeesResponse.class)
+                .thenCompose(response -> {
+                    if (response == null || response.getData() == null) {
+                        return scanSalaries().thenApply(aggregates -> {
+                            log.info(
+                                    "Retrieved {} top earners",
+                                    aggregates.getTopEarnerNames().size());
+                            return aggregates.getTopEarnerNames();
+                        });
+                    }
+                    return CompletableFuture.completedFuture(topEarnerNames(response.getData()));
+                });
+    }
+
+    /*
+     * Only ever given a short list of earners, so sorting it again costs nothing and keeps the order
+     * independent of the server's
+     */
+    private List<String> topEarnerNames(List<Employee> earners) {
+        List<String> topEarners = earners.stream()
                 .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
-                .limit(10)
+                .limit(TOP_EARNERS)
                 .map(Employee::getName)
                 .collect(Collectors.toList());
         log.info("Retrieved {} top earners", topEarners.size());
         return topEarners;
     }
 
+    /**
+     * Computes the salary aggregates in one pass over the roster response without binding or caching it,
+     * for when there is neither a live snapshot nor a server-side aggregate.
+     */
+    private CompletableFuture<SalaryAggregates> scanSalaries() {
+        log.info("Scanning salaries from server at {}", serverUrl);
+        return singleFlight.callAsync(
+                "salaries",
+                () -> networkHandler.callAsync(
+                        Priority.NORMAL,
+                        () -> restTemplate.execute(
+                                serverUrl,
+                                HttpMethod.GET,
+                                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                                response -> {
+                                    try (JsonParser parser = EMPLOYEE_READER.createParser(response.getBody())) {
+                                        return SalaryAggregates.read(parser, TOP_EARNERS);
+                                    }
+                                })));
+    }
+
+    /**
+     * Fetches a server-side aggregate. Completes with {@code null} when the server does not offer it,
+     * so callers can fall back to computing it from the roster.
+     */
+    private <T> CompletableFuture<T> fetchAggregate(String path, Class<T> type) {
+        if (!aggregatesSupported) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return networkHandler
+                .callAsync(Priority.NORMAL, () -> restTemplate.getForObject(serverUrl + path, type))
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return response;
+                    }
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof HttpClientErrorException.NotFound) {
+                        log.warn("Server does not support aggregate endpoints, computing aggregates locally");
+                        aggregatesSupported = false;
+                        return null;
+                    }
+                    throw cause instanceof RuntimeException e ? e : new CompletionException(cause);
+                });
+    }
+
     public Employee createEmployee(EmployeeInput employeeInput) throws ServiceUnavailableException {
+        return NetworkHandler.await(createEmployeeAsync(employeeInput));
+    }
+
+    /**
+     * Creations arriving together are sent to the server as one bulk request, see {@link MicroBatcher}.
+     */
+    public CompletableFuture<Employee> createEmployeeAsync(EmployeeInput employeeInput) {
         log.info("Creating employee with input: {}", employeeInput);
-        Callable<EmployeeResponse> callable =
-                () -> restTemplate.postForObject(serverUrl, employeeInput, EmployeeResponse.class);
-        EmployeeResponse response = NetworkHandler.call(callable, 3, 1000);
-        Employee employee = response.getData();
-        log.info("Employee created: {}", employee);
-        return employee;
+        return microBatcher.submitAsync("create", employeeInput, this::createEmployees);
+    }
+
+    private List<CompletableFuture<Employee>> createEmployees(List<EmployeeInput> inputs) {
+        if (inputs.size() == 1 || !bulkCreateSupported) {
+            return inputs.stream().map(this::createEmployeeIndividually).toList();
+        }
+
+        log.info("Creating {} employees in one request", inputs.size());
+        CompletableFuture<List<CompletableFuture<Employee>>> batch = networkHandler
+                .callAsync(
+                        Priority.HIGH,
+                        () -> restTemplate.postForObject(serverUrl + "/bulk", inputs, EmployeesResponse.class))
+                .handle((response, error) -> {
+                    if (error == null) {
+                        List<Employee> employees = response.getData();
+                        if (employees == null || employees.size() != inputs.size()) {
+                            throw new IllegalStateException("Server did not create every employee in the batch");
+                        }
+                        updateRoster(roster -> employees.forEach(roster::add));
+                        log.info("Created {} employees", employees.size());
+                        return employees.stream()
+                                .map(CompletableFuture::completedFuture)
+                                .toList();
+                    }
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof HttpClientErrorException.NotFound
+                            || cause instanceof HttpClientErrorException.MethodNotAllowed) {
+                        log.warn("Server does not support bulk creation, creating employees one at a time");
+                        bulkCreateSupported = false;
+                        return inputs.stream()
+                                .map(this::createEmployeeIndividually)
+                                .toList();
+                    }
+                    if (cause instanceof HttpClientErrorException) {
+                        // The batch is rejected as a whole; one bad input must not fail the callers that sent good ones
+                        log.warn("Server rejected a batch of {} employees, creating them one at a time", inputs.size());
+                        return inputs.stream()
+                                .map(this::createEmployeeIndividually)
+                                .toList();
+                    }
+                    throw cause instanceof RuntimeException e ? e : new CompletionException(cause);
+                });
+        List<CompletableFuture<Employee>> results = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            int index = i;
+            results.add(batch.thenCompose(employees -> employees.get(index)));
+        }
+        return results;
+    }
+
+    private CompletableFuture<Employee> createEmployeeIndividually(EmployeeInput employeeInput) {
+        return networkHandler
+                .callAsync(
+                        Priority.HIGH,
+                        () -> restTemplate.postForObject(serverUrl, employeeInput, EmployeeResponse.class))
+                .thenApply(response -> {
+                    Employee employee = response.getData();
+                    updateRoster(roster -> roster.add(employee));
+                    log.info("Employee created: {}", employee);
+                    return employee;
+                });
     }
 
     public String deleteEmployee(String id) throws ServiceUnavailableException {
+        return NetworkHandler.await(deleteEmployeeAsync(id));
+    }
+
+    public CompletableFuture<String> deleteEmployeeAsync(String id) {
         log.info("Attempting to delete employee with ID: {}", id);
-        Employee employee = getEmployeeById(id);
-        if (employee == null) {
-            log.warn("Cannot delete, employee with ID: {} not found", id);
-            return null;
+        if (!deleteByIdSupported) {
+            return deleteEmployeeByName(id);
         }
 
-        DeleteEmployeeInput input = new DeleteEmployeeInput();
-        input.setName(employee.getName());
+        // One round trip and one rate-limit token, where deleting by name needs a lookup first
+        return networkHandler
+                .callAsync(
+                        Priority.HIGH,
+                        () -> restTemplate.exchange(
+                                serverUrl + "/" + id, HttpMethod.DELETE, null, EmployeeResponse.class))
+                .handle((response, error) -> {
+                    if (error == null) {
+                        EmployeeResponse body = response.getBody();
+                        Employee employee = body == null ? null : body.getData();
+                        if (employee == null) {
+                            log.warn("Cannot delete, employee with ID: {} not found", id);
+                            return CompletableFuture.<String>completedFuture(null);
+                        }
+                        updateRoster(roster -> roster.remove(id));
+                        log.info("Deleted employee with ID: {}, name: {}", id, employee.getName());
+                        return CompletableFuture.completedFuture(employee.getName());
+                    }
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof HttpClientErrorException.MethodNotAllowed) {
+                        log.warn("Server does not support deleting by id, deleting by name instead");
+                        deleteByIdSupported = false;
+                        return deleteEmployeeByName(id);
+                    }
+                    if (cause instanceof ServiceUnavailableException e) {
+                        log.error("Service unavailable while deleting employee with ID: {}", id, e);
+                        throw e;
+                    }
+                    // Non-retryable failures such as a 404 mean there is no such employee
+                    log.warn("Cannot delete, employee with ID: {} not found", id, cause);
+                    return CompletableFuture.<String>completedFuture(null);
+                })
+                .thenCompose(Function.identity());
+    }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<DeleteEmployeeInput> request = new HttpEntity<>(input, headers);
+    /*
+     * Fallback for servers without the delete-by-id endpoint: looks the employee up, then deletes by name
+     */
+    private CompletableFuture<String> deleteEmployeeByName(String id) {
+        return fetchEmployeeById(id, Priority.HIGH).thenCompose(employee -> {
+            if (employee == null) {
+                log.warn("Cannot delete, employee with ID: {} not found", id);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            DeleteEmployeeInput input = new DeleteEmployeeInput();
+            input.setName(employee.getName());
 
-        Callable<ResponseEntity<String>> callable =
-                () -> restTemplate.exchange(serverUrl, HttpMethod.DELETE, request, String.class);
-        NetworkHandler.call(callable, 3, 1000);
-        log.info("Deleted employee with ID: {}, name: {}", id, employee.getName());
-        return employee.getName();
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            HttpEntity<DeleteEmployeeInput> request = new HttpEntity<>(input, headers);
+
+            return networkHandler
+                    .callAsync(
+                            Priority.HIGH,
+                            () -> restTemplate.exchange(serverUrl, HttpMethod.DELETE, request, String.class))
+                    .thenApply(response -> {
+                        updateRoster(roster -> roster.remove(id));
+                        log.info("Deleted employee with ID: {}, name: {}", id, employee.getName());
+                        return employee.getName();
+                    });
+        });
     }
+
+    /*
+     * The roster as last received from the server, with the entity tag it was served under
+     */
+    private record TaggedRoster(String etag, List<Employee> employees) {}
 }
@@ -0,0 +1,229 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive substring index over employee names.
+ *
+ * Names are case folded and split into overlapping trigrams, each with a posting list of the employees whose name
+ * contains it. A query intersects the postings of its own trigrams, smallest first, and confirms the candidates left
+ * with a substring check, so a lookup only touches employees sharing every trigram with the query. Queries shorter
+ * than a trigram scan the pre-folded names instead.
+ *
+ * Results keep the order employees were added in. Thread-safe.
+ */
+public class NameIndex {
+
+    private static final int GRAM = 3;
+    private static final int MIN_COMPACTION = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock. Slots are handed out in increasing order, so every posting list is sorted.
+    private final List<Employee> employees = new ArrayList<>();
+    private final List<String> foldedNames = new ArrayList<>();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int removed;
+
+    public NameIndex(Collection<Employee> employees) {
+        employees.forEach(this::add);
+    }
+
+    /**
+     * Indexes {@code employee}, replacing any employee with the same id.
+     */
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            if (employee.getId() != null) {
+                unindex(employee.getId());
+                slots.put(employee.getId(), employees.size());
+            }
+            index(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            unindex(id);
+            if (removed > MIN_COMPACTION && removed > employees.size() / 2) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return employees whose name contains {@code query}, ignoring case
+     */
+    public List<Employee> search(String query) {
+        String folded = fold(query);
+        lock.readLock().lock();
+        try {
+            return folded.length() < GRAM ? scan(folded) : lookup(folded);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Full Unicode case folding, so that for instance "STRASSE" matches "Straße" and "ΣΊΣΥΦΟΣ" matches "Σίσυφος".
+     * Compatibility normalisation first makes composed and decomposed accents compare equal.
+     */
+    static String fold(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .toUpperCase(Locale.ROOT)
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private List<Employee> lookup(String folded) {
+        List<Postings> lists = new ArrayList<>();
+        for (String gram : grams(folded)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        Postings smallest = lists.get(0);
+        List<Employee> matches = new ArrayList<>();
+        for (int i = 0; i < smallest.size(); i++) {
+            int slot = smallest.get(i);
+            if (containsAll(lists, slot) && foldedNames.get(slot).contains(folded)) {
+                matches.add(employees.get(slot));
+            }
+        }
+        return matches;
+    }
+
+    private static boolean containsAll(List<Postings> lists, int slot) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Employee> scan(String folded) {
+        List<Employee> matches = new ArrayList<>();
+        for (int slot = 0; slot < employees.size(); slot++) {
+            String name = foldedNames.get(slot);
+            if (name != null && employees.get(slot) != null && name.contains(folded)) {
+                matches.add(employees.get(slot));
+            }
+        }
+        return matches;
+    }
+
+    private void index(Employee employee) {
+        int slot = employees.size();
+        String folded = employee.getName() == null ? null : fold(employee.getName());
+        employees.add(employee);
+        foldedNames.add(folded);
+        if (folded != null) {
+            for (String gram : grams(folded)) {
+                postings.computeIfAbsent(gram, ignored -> new Postings()).add(slot);
+            }
+        }
+    }
+
+    private void unindex(String id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        String folded = foldedNames.get(slot);
+        if (folded != null) {
+            for (String gram : grams(folded)) {
+                Postings list = postings.get(gram);
+                list.remove(slot);
+                if (list.size() == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        employees.set(slot, null);
+        foldedNames.set(slot, null);
+        removed++;
+    }
+
+    private void compact() {
+        List<Employee> live = employees.stream().filter(Objects::nonNull).toList();
+        employees.clear();
+        foldedNames.clear();
+        slots.clear();
+        postings.clear();
+        removed = 0;
+        for (Employee employee : live) {
+            if (employee.getId() != null) {
+                slots.put(employee.getId(), employees.size());
+            }
+            index(employee);
+        }
+    }
+
+    private static Set<String> grams(String folded) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(folded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /*
+     * Sorted, growable array of slots. Appends are O(1) since slots only increase; removal and lookup binary search.
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            int index = Arrays.binarySearch(slots, 0, size, slot);
+            if (index >= 0) {
+                System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+                size--;
+            }
+        }
+
+        boolean contains(int slot) {
+            return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+        }
+
+        int get(int index) {
+            return slots[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
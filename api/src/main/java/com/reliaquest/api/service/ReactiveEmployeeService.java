@@ -0,0 +1,305 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.api.model.HighestSalaryResponse;
+import com.reliaquest.api.web.AdaptiveRateLimiter.Priority;
+import com.reliaquest.api.web.ReactiveNetworkHandler;
+import com.reliaquest.api.web.SingleFlight;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking {@link EmployeeService}, selected with the {@code reactive} profile.
+ *
+ * Upstream calls go through {@link WebClient} and {@link ReactiveNetworkHandler}, so no thread waits on the server
+ * or on a retry. The roster is decoded from the server's NDJSON stream one employee at a time, and without a cached
+ * snapshot the salary aggregates are folded from that stream as it arrives rather than from a materialised list.
+ * Shares the {@link RosterCache} and {@link SingleFlight} semantics of the blocking implementation.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveEmployeeService.class);
+    private static final int TOP_EARNERS = 10;
+    private final WebClient webClient;
+    private final RosterCache rosterCache;
+    private final SingleFlight singleFlight;
+    private final ReactiveNetworkHandler networkHandler;
+    private final String serverUrl = "http://localhost:8112/api/v1/employee";
+    private volatile boolean aggregatesSupported = true;
+    private volatile boolean deleteByIdSupported = true;
+
+    public ReactiveEmployeeService(
+            WebClient webClient,
+            RosterCache rosterCache,
+            SingleFlight singleFlight,
+            ReactiveNetworkHandler networkHandler) {
+        this.webClient = webClient;
+        this.rosterCache = rosterCache;
+        this.singleFlight = singleFlight;
+        this.networkHandler = networkHandler;
+    }
+
+    public Mono<List<Employee>> getAllEmployees() {
+        return roster().map(Roster::getEmployees);
+    }
+
+    /**
+     * @return the roster as last received, however old, for answering reads while the server cannot be reached
+     */
+    public Optional<RosterCache.StaleRoster> getLastKnownRoster() {
+        return Optional.ofNullable(rosterCache.peekStale());
+    }
+
+    /*
+     * The cached roster and in-flight loads are shared between callers, so one caller going away must not cancel them
+     */
+    private Mono<Roster> roster() {
+        return Mono.fromFuture(() -> rosterCache.get(this::fetchAllEmployees), true);
+    }
+
+    private CompletableFuture<List<Employee>> fetchAllEmployees() {
+        log.info("Streaming all employees from server at {}", serverUrl);
+        return singleFlight.callAsync("employees", () -> networkHandler
+                .call(Priority.NORMAL, () -> streamAllEmployees().collectList())
+                .doOnNext(employees -> log.info("Received {} employees from server", employees.size()))
+                .toFuture());
+    }
+
+    /**
+     * Decodes the roster from the server's NDJSON endpoint as it arrives, bypassing the roster cache.
+     * Subscribing again, for instance on retry, streams it again from the start.
+     */
+    public Flux<Employee> streamAllEmployees() {
+        return webClient
+                .get()
+                .uri(serverUrl + "/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(Employee.class);
+    }
+
+    public Mono<List<Employee>> searchEmployeesByName(String searchString) {
+        log.info("Searching employees by name with search string: {}", searchString);
+        return roster().map(roster -> {
+            List<Employee> matchingEmployees = roster.search(searchString);
+            log.info("Found {} employees matching '{}'", matchingEmployees.size(), searchString);
+            return matchingEmployees;
+        });
+    }
+
+    /**
+     * @return the employee, or empty when the server does not know it
+     */
+    public Mono<Employee> getEmployeeById(String id) {
+        return fetchEmployeeById(id, Priority.LOW);
+    }
+
+    private Mono<Employee> fetchEmployeeById(String id, Priority priority) {
+        log.info("Fetching employee by ID: {} from server", id);
+        return Mono.fromFuture(
+                        () -> singleFlight.callAsync("employee:" + id, () -> networkHandler
+                                .call(priority, () -> webClient
+                                        .get()
+                                        .uri(serverUrl + "/{id}", id)
+                                        .retrieve()
+                                        .bodyToMono(EmployeeResponse.class))
+                                .toFuture()),
+                        true)
+                .mapNotNull(EmployeeResponse::getData)
+                .doOnNext(employee -> log.info("Retrieved employee with ID: {}", id))
+                .switchIfEmpty(Mono.fromRunnable(() -> log.warn("No employee found with ID: {}", id)))
+                .onErrorResume(error -> !(error instanceof ServiceUnavailableException), error -> {
+                    // Non-retryable failures such as a 404 mean there is no such employee
+                    log.error("Error fetching employee with ID: {}", id, error);
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Integer> getHighestSalary() {
+        log.info("Calculating highest salary among employees");
+        Roster cached = rosterCache.peek();
+        if (cached != null) {
+            log.info("Highest salary from cached roster: {}", cached.getHighestSalary());
+            return Mono.just(cached.getHighestSalary());
+        }
+
+        // Without a live snapshot, ask the server for the aggregate instead of downloading the roster
+        return fetchAggregate(serverUrl + "/stats/highestSalary", HighestSalaryResponse.class)
+                .mapNotNull(HighestSalaryResponse::getData)
+                .doOnNext(highestSalary -> log.info("Highest salary reported by server: {}", highestSalary))
+                .switchIfEmpty(Mono.defer(() -> scanSalaries()
+                        .map(SalaryAggregates.TopEarners::highestSalary)
+                        .doOnNext(highestSalary -> log.info("Highest salary calculated: {}", highestSalary))));
+    }
+
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        log.info("Retrieving top 10 highest earning employee names");
+        Roster cached = rosterCache.peek();
+        if (cached != null) {
+            return Mono.just(topEarnerNames(cached.getTopEarners(TOP_EARNERS)));
+        }
+
+        return fetchAggregate(serverUrl + "/stats/topBySalary?limit={limit}", EmployeesResponse.class, TOP_EARNERS)
+                .mapNotNull(EmployeesResponse::getData)
+                .map(this::topEarnerNames)
+                .switchIfEmpty(Mono.defer(() -> scanSalaries().map(top -> {
+                    List<String> names = top.names();
+                    log.info("Retrieved {} top earners", names.size());
+                    return names;
+                })));
+    }
+
+    /*
+     * Only ever given a short list of earners, so sorting it again costs nothing and keeps the order
+     * independent of the server's
+     */
+    private List<String> topEarnerNames(List<Employee> earners) {
+        List<String> topEarners = earners.stream()
+                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
+                .limit(TOP_EARNERS)
+                .map(Employee::getName)
+                .collect(Collectors.toList());
+        log.info("Retrieved {} top earners", topEarners.size());
+        return topEarners;
+    }
+
+    /**
+     * Folds the salary aggregates from the streamed roster as each employee is decoded, without caching it,
+     * for when there is neither a live snapshot nor a server-side aggregate.
+     */
+    private Mono<SalaryAggregates.TopEarners> scanSalaries() {
+        log.info("Scanning salaries from server at {}", serverUrl);
+        return Mono.fromFuture(
+                () -> singleFlight.callAsync("salaries", () -> networkHandler
+                        .call(Priority.NORMAL, () -> streamAllEmployees()
+                                .index()
+                                .filter(indexed -> indexed.getT2().getSalary() != null)
+                                .collect(
+                                        () -> new SalaryAggregates.TopEarners(TOP_EARNERS),
+                                        (top, indexed) -> top.offer(
+                                                indexed.getT2().getSalary(),
+                                                indexed.getT1(),
+                                                indexed.getT2().getName())))
+                        .toFuture()),
+                true);
+    }
+
+    /**
+     * Fetches a server-side aggregate. Completes empty when the server does not offer it,
+     * so callers can fall back to computing it from the roster.
+     */
+    private <T> Mono<T> fetchAggregate(String uriTemplate, Class<T> type, Object... uriVariables) {
+        if (!aggregatesSupported) {
+            return Mono.empty();
+        }
+        return networkHandler
+                .call(Priority.NORMAL, () -> webClient
+                        .get()
+                        .uri(uriTemplate, uriVariables)
+                        .retrieve()
+                        .bodyToMono(type))
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.warn("Server does not support aggregate endpoints, computing aggregates locally");
+                    aggregatesSupported = false;
+                    return Mono.empty();
+                });
+    }
+
+    public Mono<Employee> createEmployee(EmployeeInput employeeInput) {
+        log.info("Creating employee with input: {}", employeeInput);
+        return networkHandler
+                .call(Priority.HIGH, () -> webClient
+                        .post()
+                        .uri(serverUrl)
+                        .bodyValue(employeeInput)
+                        .retrieve()
+                        .bodyToMono(EmployeeResponse.class))
+                .map(response -> {
+                    Employee employee = response.getData();
+                    rosterCache.update(roster -> roster.add(employee));
+                    log.info("Employee created: {}", employee);
+                    return employee;
+                });
+    }
+
+    /**
+     * @return the deleted employee's name, or empty when the server does not know the employee
+     */
+    public Mono<String> deleteEmployee(String id) {
+        log.info("Attempting to delete employee with ID: {}", id);
+        if (!deleteByIdSupported) {
+            return deleteEmployeeByName(id);
+        }
+
+        // One round trip and one rate-limit token, where deleting by name needs a lookup first
+        return networkHandler
+                .call(Priority.HIGH, () -> webClient
+                        .delete()
+                        .uri(serverUrl + "/{id}", id)
+                        .retrieve()
+                        .bodyToMono(EmployeeResponse.class))
+                .mapNotNull(EmployeeResponse::getData)
+                .map(employee -> {
+                    rosterCache.update(roster -> roster.remove(id));
+                    log.info("Deleted employee with ID: {}, name: {}", id, employee.getName());
+                    return employee.getName();
+                })
+                .onErrorResume(
+                        error -> !(error instanceof ServiceUnavailableException
+                                || error instanceof WebClientResponseException.MethodNotAllowed),
+                        error -> {
+                            // Non-retryable failures such as a 404 mean there is no such employee
+                            log.warn("Cannot delete, employee with ID: {} not found", id, error);
+                            return Mono.empty();
+                        })
+                .onErrorResume(WebClientResponseException.MethodNotAllowed.class, e -> {
+                    log.warn("Server does not support deleting by id, deleting by name instead");
+                    deleteByIdSupported = false;
+                    return deleteEmployeeByName(id);
+                });
+    }
+
+    /*
+     * Fallback for servers without the delete-by-id endpoint: looks the employee up, then deletes by name
+     */
+    private Mono<String> deleteEmployeeByName(String id) {
+        return fetchEmployeeById(id, Priority.HIGH).flatMap(employee -> {
+            DeleteEmployeeInput input = new DeleteEmployeeInput();
+            input.setName(employee.getName());
+
+            return networkHandler
+                    .call(Priority.HIGH, () -> webClient
+                            .method(HttpMethod.DELETE)
+                            .uri(serverUrl)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(input)
+                            .retrieve()
+                            .toBodilessEntity())
+                    .map(response -> {
+                        rosterCache.update(roster -> roster.remove(id));
+                        log.info("Deleted employee with ID: {}, name: {}", id, employee.getName());
+                        return employee.getName();
+                    });
+        });
+    }
+}
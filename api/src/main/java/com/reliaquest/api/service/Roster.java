@@ -0,0 +1,75 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A loaded roster together with the indexes derived from it.
+ *
+ * Employees created or deleted through this API are applied in place, so the indexes are updated incrementally
+ * rather than rebuilt. The employee list is copied on write, which suits a roster that is read far more often
+ * than it changes.
+ */
+public class Roster {
+
+    private volatile List<Employee> employees;
+    private final NameIndex nameIndex;
+    private final SalaryRanking salaryRanking;
+
+    public Roster(List<Employee> employees) {
+        this.employees = List.copyOf(employees);
+        this.nameIndex = new NameIndex(this.employees);
+        this.salaryRanking = new SalaryRanking(this.employees);
+    }
+
+    /**
+     * @return an immutable view of the roster
+     */
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * @return employees whose name contains {@code searchString}, ignoring case
+     */
+    public List<Employee> search(String searchString) {
+        return nameIndex.search(searchString);
+    }
+
+    /**
+     * @return the highest salary, or 0 for an empty roster
+     */
+    public int getHighestSalary() {
+        return salaryRanking.highestSalary();
+    }
+
+    /**
+     * @return up to {@code limit} employees, highest salary first; ties keep roster order
+     */
+    public List<Employee> getTopEarners(int limit) {
+        return salaryRanking.topEarners(limit);
+    }
+
+    public synchronized void add(Employee employee) {
+        List<Employee> updated = new ArrayList<>(employees.size() + 1);
+        for (Employee existing : employees) {
+            if (!Objects.equals(existing.getId(), employee.getId())) {
+                updated.add(existing);
+            }
+        }
+        updated.add(employee);
+        employees = List.copyOf(updated);
+        nameIndex.add(employee);
+        salaryRanking.add(employee);
+    }
+
+    public synchronized void remove(String id) {
+        employees = employees.stream()
+                .filter(employee -> !Objects.equals(employee.getId(), id))
+                .toList();
+        nameIndex.remove(id);
+        salaryRanking.remove(id);
+    }
+}
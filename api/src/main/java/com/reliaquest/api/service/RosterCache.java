@@ -0,0 +1,237 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory snapshot of the upstream roster.
+ * A snapshot is served until its TTL elapses; once it enters the refresh-ahead window a single
+ * background reload is started so callers keep reading from memory instead of waiting on the network.
+ * Mutations made through the API are applied to the snapshot in place, see {@link #update(Consumer)}.
+ * Given a synchronizer, an expiring snapshot is brought up to date in place too, rather than reloaded.
+ */
+@Component
+public class RosterCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RosterCache.class);
+
+    private final long ttlNanos;
+    private final long refreshAheadNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile Snapshot snapshot;
+
+    // Guarded by this. The mutations made while any load is in flight are kept, in order, so each load can replay
+    // the ones made since it started; mutationCount counts every mutation ever made.
+    private final List<Consumer<Roster>> recentMutations = new ArrayList<>();
+    private long mutationCount;
+    private int loadsInFlight;
+    private long generation;
+
+    public RosterCache(
+            @Value("${api.roster.ttl:30s}") Duration ttl,
+            @Value("${api.roster.refresh-ahead:10s}") Duration refreshAhead) {
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAheadNanos = Math.min(refreshAhead.toNanos(), ttlNanos);
+    }
+
+    /**
+     * Returns the cached roster, loading it with {@code loader} when there is no live snapshot.
+     *
+     * @param loader starts an upstream fetch of the full roster
+     * @return a future of the roster; already complete when served from memory
+     */
+    public CompletableFuture<Roster> get(Supplier<CompletableFuture<List<Employee>>> loader) {
+        return get(loader, null);
+    }
+
+    /**
+     * Like {@link #get(Supplier)}, but once a roster has been loaded, refreshing it applies the upstream changes to
+     * it in place instead of loading it again.
+     *
+     * @param synchronizer applies the changes made upstream since the roster was last loaded or synchronized;
+     * completes with {@code false} when it cannot, and the roster is then loaded with {@code loader}
+     */
+    public CompletableFuture<Roster> get(
+            Supplier<CompletableFuture<List<Employee>>> loader,
+            Function<Roster, CompletableFuture<Boolean>> synchronizer) {
+        if (ttlNanos <= 0) {
+            return start(loader).thenApply(Roster::new);
+        }
+
+        long now = System.nanoTime();
+        Snapshot current = snapshot;
+        if (current != null && now - current.loadedAt() < ttlNanos) {
+            if (now - current.loadedAt() >= ttlNanos - refreshAheadNanos) {
+                refreshAsync(loader, synchronizer);
+            }
+            return CompletableFuture.completedFuture(current.roster());
+        }
+        return refresh(loader, synchronizer);
+    }
+
+    /**
+     * @return the live snapshot, or {@code null} when reading the roster would have to go upstream
+     */
+    public Roster peek() {
+        Snapshot current = snapshot;
+        if (current == null || System.nanoTime() - current.loadedAt() >= ttlNanos) {
+            return null;
+        }
+        return current.roster();
+    }
+
+    /**
+     * @return the last snapshot even past its time to live, for serving when the server cannot be reached, or
+     * {@code null} when there is none
+     */
+    public StaleRoster peekStale() {
+        Snapshot current = snapshot;
+        return current == null
+                ? null
+                : new StaleRoster(current.roster(), Duration.ofNanos(System.nanoTime() - current.loadedAt()));
+    }
+
+    /**
+     * Applies a mutation the server has acknowledged to the current snapshot, if there is one.
+     * Any reload already in flight may predate the mutation, so the mutation is applied again to the roster it
+     * loads before that is published. Mutations must therefore have no effect when applied twice.
+     */
+    public synchronized void update(Consumer<Roster> mutation) {
+        mutationCount++;
+        if (loadsInFlight > 0) {
+            recentMutations.add(mutation);
+        }
+        Snapshot current = snapshot;
+        if (current != null) {
+            mutation.accept(current.roster());
+        }
+    }
+
+    /**
+     * Drops the current snapshot so the next read goes upstream.
+     * Any reload already in flight is discarded once it completes.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+        log.debug("Roster snapshot invalidated");
+    }
+
+    private CompletableFuture<Roster> load(Supplier<CompletableFuture<List<Employee>>> loader) {
+        Mark mark = begin();
+        long loadedAt = System.nanoTime();
+        return start(loader)
+                .thenApply(loaded -> {
+                    // A loader that found the roster unchanged hands back the same list; keep its indexes
+                    Snapshot current = snapshot;
+                    Roster roster = current != null && current.roster().getEmployees() == loaded
+                            ? current.roster()
+                            : new Roster(loaded);
+                    return publish(mark, new Snapshot(roster, loadedAt));
+                })
+                .whenComplete((roster, error) -> end());
+    }
+
+    /*
+     * Synchronizes the last snapshot, even an expired one, when there is one and a synchronizer to do it
+     */
+    private CompletableFuture<Roster> refresh(
+            Supplier<CompletableFuture<List<Employee>>> loader,
+            Function<Roster, CompletableFuture<Boolean>> synchronizer) {
+        Snapshot current = snapshot;
+        if (synchronizer == null || current == null) {
+            return load(loader);
+        }
+        Mark mark = begin();
+        long syncedAt = System.nanoTime();
+        Roster roster = current.roster();
+        CompletableFuture<Boolean> synced;
+        try {
+            synced = synchronizer.apply(roster);
+        } catch (RuntimeException e) {
+            synced = CompletableFuture.failedFuture(e);
+        }
+        return synced.thenApply(inSync -> inSync ? publish(mark, new Snapshot(roster, syncedAt)) : null)
+                .whenComplete((published, error) -> end())
+                .thenCompose(
+                        published -> published != null ? CompletableFuture.completedFuture(published) : load(loader));
+    }
+
+    private void refreshAsync(
+            Supplier<CompletableFuture<List<Employee>>> loader,
+            Function<Roster, CompletableFuture<Boolean>> synchronizer) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        log.debug("Roster snapshot is close to expiry, refreshing ahead");
+        refresh(loader, synchronizer).whenComplete((ignored, error) -> {
+            refreshing.set(false);
+            if (error != null) {
+                log.warn("Background roster refresh failed, serving the current snapshot until it expires", error);
+            }
+        });
+    }
+
+    private static CompletableFuture<List<Employee>> start(Supplier<CompletableFuture<List<Employee>>> loader) {
+        try {
+            return loader.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private synchronized Mark begin() {
+        loadsInFlight++;
+        return new Mark(generation, mutationCount);
+    }
+
+    private synchronized void end() {
+        if (--loadsInFlight == 0) {
+            recentMutations.clear();
+        }
+    }
+
+    /*
+     * Publishes a loaded roster once the mutations made since its load started have been applied to it; the current
+     * snapshot's roster already has them
+     */
+    private synchronized Roster publish(Mark mark, Snapshot loaded) {
+        if (mark.generation() != generation) {
+            log.debug("Discarding roster snapshot loaded before the last invalidation");
+            return loaded.roster();
+        }
+        Snapshot current = snapshot;
+        if (current == null || current.roster() != loaded.roster()) {
+            int missed = (int) (mutationCount - mark.mutationCount());
+            for (Consumer<Roster> mutation :
+                    recentMutations.subList(recentMutations.size() - missed, recentMutations.size())) {
+                mutation.accept(loaded.roster());
+            }
+        }
+        if (current == null || loaded.loadedAt() - current.loadedAt() > 0) {
+            snapshot = loaded;
+        }
+        return loaded.roster();
+    }
+
+    /**
+     * @param age how long ago the roster was last loaded or synchronized with the server
+     */
+    public record StaleRoster(Roster roster, Duration age) {}
+
+    private record Snapshot(Roster roster, long loadedAt) {}
+
+    private record Mark(long generation, long mutationCount) {}
+}
@@ -0,0 +1,266 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.web.AdaptiveRateLimiter.Priority;
+import com.reliaquest.api.web.NetworkHandler;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * Keeps the cached roster current from the server's roster events, so reads stay fresh without going upstream.
+ *
+ * The subscription holds one connection of the shared pool open indefinitely, so it reads the stream on its own
+ * thread rather than an upstream worker. Connecting goes through the {@link NetworkHandler} at low priority like
+ * any other call: it is charged against the request budget, retried, and refused while the circuit is open. Only
+ * the wait for the response headers is subject to the per-call deadline; the stream itself may stay silent for
+ * {@code idleTimeout}. Each change is applied to the roster as it arrives. While disconnected, the roster is kept
+ * current by polling as before; on reconnecting, the subscription resumes from the last event received and the
+ * server replays the ones missed.
+ */
+@Component
+@Profile("!reactive")
+public class RosterSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(RosterSubscriber.class);
+    private static final ObjectReader CHANGE_READER = new ObjectMapper()
+            .readerFor(EmployeeChange.class)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final EmployeeService employeeService;
+    private final NetworkHandler networkHandler;
+    private final CloseableHttpClient httpClient;
+    private final RequestConfig streamConfig;
+    private final boolean enabled;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final String eventsUrl;
+    private volatile boolean running;
+    private volatile HttpGet request;
+    private Thread thread;
+
+    // Only accessed from the subscriber thread
+    private String lastEventId;
+
+    /**
+     * @param idleTimeout how long the stream may stay silent before it is considered dead; longer than the
+     * server's heartbeat interval
+     */
+    public RosterSubscriber(
+            EmployeeService employeeService,
+            NetworkHandler networkHandler,
+            CloseableHttpClient httpClient,
+            @Value("${api.events.url:http://localhost:8112/api/v1/employee/events}") String eventsUrl,
+            @Value("${api.events.enabled:true}") boolean enabled,
+            @Value("${api.events.idle-timeout:45s}") Duration idleTimeout,
+            @Value("${api.events.initial-delay:1s}") Duration initialDelay,
+            @Value("${api.events.max-delay:30s}") Duration maxDelay) {
+        this.employeeService = employeeService;
+        this.networkHandler = networkHandler;
+        this.httpClient = httpClient;
+        this.eventsUrl = eventsUrl;
+        this.enabled = enabled;
+        this.initialDelayMillis = initialDelay.toMillis();
+        this.maxDelayMillis = Math.max(maxDelay.toMillis(), initialDelayMillis);
+        // The pool's settings, except that the response may take as long as the stream may stay silent
+        RequestConfig defaults = httpClient instanceof Configurable configurable && configurable.getConfig() != null
+                ? configurable.getConfig()
+                : RequestConfig.DEFAULT;
+        this.streamConfig = RequestConfig.copy(defaults)
+                .setResponseTimeout(Timeout.of(idleTimeout))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "roster-events");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        // Aborting the request closes its connection, which unblocks the read the subscriber thread is waiting in
+        HttpGet current = request;
+        if (current != null) {
+            current.cancel();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        long delayMillis = initialDelayMillis;
+        while (running) {
+            try {
+                subscribe();
+                log.info("Roster event stream ended, reconnecting");
+                delayMillis = initialDelayMillis;
+            } catch (HttpClientErrorException.NotFound e) {
+                log.warn("Server does not publish roster events, keeping the roster current by polling");
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Roster event stream unavailable, reconnecting in {}ms: {}", delayMillis, e.toString());
+            } finally {
+                employeeService.setRosterPushed(false);
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delayMillis = Math.min(delayMillis * 2, maxDelayMillis);
+        }
+    }
+
+    private void subscribe() throws IOException {
+        String resumeFrom = lastEventId != null ? lastEventId : employeeService.getRosterVersion();
+        HttpGet get = new HttpGet(eventsUrl);
+        get.setConfig(streamConfig);
+        get.setHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+        if (resumeFrom != null) {
+            get.setHeader("Last-Event-ID", resumeFrom);
+        }
+        request = get;
+        if (!running) {
+            return;
+        }
+        ClassicHttpResponse response;
+        try {
+            response = NetworkHandler.await(networkHandler.callAsync(Priority.LOW, () -> open(get)));
+        } catch (RuntimeException e) {
+            // The call may give up while the connection is still being opened; cancelling closes it once it is
+            get.cancel();
+            throw e;
+        }
+        try {
+            log.info("Subscribed to roster events from version {}", resumeFrom);
+            employeeService.setRosterPushed(true);
+            read(new BufferedReader(new InputStreamReader(response.getEntity().getContent(), StandardCharsets.UTF_8)));
+        } finally {
+            // Discards the connection rather than draining a stream that never ends
+            get.cancel();
+            response.close();
+        }
+    }
+
+    /*
+     * Opens the stream and hands back the response unread; an error status is thrown as RestTemplate would, so the
+     * NetworkHandler treats it like any other upstream answer
+     */
+    private ClassicHttpResponse open(HttpGet get) throws IOException {
+        ClassicHttpResponse response = httpClient.executeOpen(null, get, null);
+        if (response.getCode() == HttpStatus.OK.value()) {
+            return response;
+        }
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            for (Header header : response.getHeaders()) {
+                headers.add(header.getName(), header.getValue());
+            }
+            HttpStatusCode status = HttpStatusCode.valueOf(response.getCode());
+            byte[] body = response.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(response.getEntity());
+            throw status.is4xxClientError()
+                    ? HttpClientErrorException.create(
+                            status, response.getReasonPhrase(), headers, body, StandardCharsets.UTF_8)
+                    : HttpServerErrorException.create(
+                            status, response.getReasonPhrase(), headers, body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /*
+     * Parses the text/event-stream format: fields up to a blank line make an event, lines starting with a colon
+     * are comments such as the server's heartbeats
+     */
+    private void read(BufferedReader reader) throws IOException {
+        String event = null;
+        String id = null;
+        StringBuilder data = new StringBuilder();
+        String line;
+        while (running && (line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                dispatch(event, id, data.toString());
+                event = null;
+                id = null;
+                data.setLength(0);
+                continue;
+            }
+            if (line.startsWith(":")) {
+                continue;
+            }
+            int colon = line.indexOf(':');
+            String field = colon < 0 ? line : line.substring(0, colon);
+            String value = colon < 0 ? "" : line.substring(colon + 1);
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            switch (field) {
+                case "event" -> event = value;
+                case "id" -> id = value;
+                case "data" -> {
+                    if (!data.isEmpty()) {
+                        data.append('\n');
+                    }
+                    data.append(value);
+                }
+                default -> {
+                    // retry and unknown fields are ignored
+                }
+            }
+        }
+    }
+
+    private void dispatch(String event, String id, String data) throws IOException {
+        if ("change".equals(event) && id != null) {
+            EmployeeChange change = CHANGE_READER.readValue(data);
+            employeeService.applyRosterChange(id, change);
+            log.debug(
+                    "Applied roster event {}: {} {}",
+                    id,
+                    change.getType(),
+                    change.getEmployee().getId());
+        } else if ("resync".equals(event)) {
+            log.info("Missed roster events are no longer available, fetching the roster in full");
+            employeeService.resyncRoster();
+        }
+        if (id != null) {
+            lastEventId = id;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Highest salary and top earners computed in a single pass over an employees response, read token by token
+ * instead of being bound to {@link com.reliaquest.api.model.Employee} objects.
+ *
+ * Salaries are read as primitives and names are copied into a reusable buffer. A name only becomes a String
+ * when its employee enters the top list, so memory stays O(limit) whatever the size of the roster.
+ */
+public final class SalaryAggregates {
+
+    private final int highestSalary;
+    private final List<String> topEarnerNames;
+
+    private SalaryAggregates(int highestSalary, List<String> topEarnerNames) {
+        this.highestSalary = highestSalary;
+        this.topEarnerNames = topEarnerNames;
+    }
+
+    /**
+     * @param parser positioned before an {@code {"data": [...]}} employees response
+     * @param limit number of top earners to keep
+     */
+    public static SalaryAggregates read(JsonParser parser, int limit) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected an employees response object");
+        }
+        TopEarners top = new TopEarners(limit);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY && "data".equals(field)) {
+                readEmployees(parser, top);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new SalaryAggregates(top.highestSalary(), top.names());
+    }
+
+    private static void readEmployees(JsonParser parser, TopEarners top) throws IOException {
+        char[] name = new char[64];
+        long order = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            boolean hasSalary = false;
+            boolean hasName = false;
+            int salary = 0;
+            int nameLength = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("employee_salary".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                    salary = parser.getIntValue();
+                    hasSalary = true;
+                } else if ("employee_name".equals(field) && value == JsonToken.VALUE_STRING) {
+                    nameLength = parser.getTextLength();
+                    if (nameLength > name.length) {
+                        name = new char[Math.max(nameLength, name.length * 2)];
+                    }
+                    System.arraycopy(parser.getTextCharacters(), parser.getTextOffset(), name, 0, nameLength);
+                    hasName = true;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (hasSalary) {
+                top.offer(salary, order, hasName ? name : null, nameLength);
+            }
+            order++;
+        }
+    }
+
+    public int getHighestSalary() {
+        return highestSalary;
+    }
+
+    /**
+     * @return names of the highest earners, highest first; ties keep roster order
+     */
+    public List<String> getTopEarnerNames() {
+        return topEarnerNames;
+    }
+
+    /*
+     * Bounded min-heap on parallel primitive arrays: the root is the weakest entry, the first to be displaced.
+     * Offers must come in roster order. Also folds the reactive roster scan, so the tie rule lives in one place.
+     */
+    static final class TopEarners {
+
+        private final int[] salaries;
+        private final long[] orders;
+        private final String[] names;
+        private int size;
+        private boolean seen;
+        private int highestSalary;
+
+        TopEarners(int limit) {
+            salaries = new int[Math.max(0, limit)];
+            orders = new long[salaries.length];
+            names = new String[salaries.length];
+        }
+
+        void offer(int salary, long order, char[] name, int nameLength) {
+            // The name only becomes a String if the employee enters the heap
+            offer(salary, order, name != null && admits(salary) ? new String(name, 0, nameLength) : null);
+        }
+
+        void offer(int salary, long order, String name) {
+            if (!seen || salary > highestSalary) {
+                highestSalary = salary;
+                seen = true;
+            }
+            if (size < salaries.length) {
+                set(size, salary, order, name);
+                siftUp(size++);
+            } else if (admits(salary)) {
+                set(0, salary, order, name);
+                siftDown(0);
+            }
+        }
+
+        private boolean admits(int salary) {
+            // Equal salaries never displace an earlier employee
+            return size < salaries.length || (size > 0 && salary > salaries[0]);
+        }
+
+        int highestSalary() {
+            return highestSalary;
+        }
+
+        List<String> names() {
+            Integer[] ranked = new Integer[size];
+            Arrays.setAll(ranked, i -> i);
+            Arrays.sort(
+                    ranked,
+                    Comparator.<Integer>comparingInt(i -> salaries[i])
+                            .reversed()
+                            .thenComparingLong(i -> orders[i]));
+            List<String> result = new ArrayList<>(size);
+            for (int i : ranked) {
+                result.add(names[i]);
+            }
+            return result;
+        }
+
+        private void set(int index, int salary, long order, String name) {
+            salaries[index] = salary;
+            orders[index] = order;
+            names[index] = name;
+        }
+
+        private boolean weaker(int a, int b) {
+            return salaries[a] < salaries[b] || (salaries[a] == salaries[b] && orders[a] > orders[b]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!weaker(index, parent)) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int weakest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && weaker(left, weakest)) {
+                    weakest = left;
+                }
+                if (right < size && weaker(right, weakest)) {
+                    weakest = right;
+                }
+                if (weakest == index) {
+                    return;
+                }
+                swap(index, weakest);
+                index = weakest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int salary = salaries[a];
+            salaries[a] = salaries[b];
+            salaries[b] = salary;
+            long order = orders[a];
+            orders[a] = orders[b];
+            orders[b] = order;
+            String name = names[a];
+            names[a] = names[b];
+            names[b] = name;
+        }
+    }
+}
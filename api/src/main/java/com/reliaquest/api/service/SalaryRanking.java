@@ -0,0 +1,106 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Employees ordered by salary, kept up to date as employees are added and removed.
+ *
+ * The highest salary is O(log n) and the top K earners O(K + log n) for any K, so polling them never re-sorts the
+ * roster. Ties keep the order employees were added in; employees without a salary are not ranked. Thread-safe.
+ */
+public class SalaryRanking {
+
+    private static final Comparator<Ranked> BY_SALARY_DESCENDING =
+            Comparator.comparingInt(Ranked::salary).reversed().thenComparingLong(Ranked::sequence);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private final NavigableSet<Ranked> ranked = new TreeSet<>(BY_SALARY_DESCENDING);
+    private final Map<String, Ranked> byId = new HashMap<>();
+    private long nextSequence;
+
+    public SalaryRanking(Collection<Employee> employees) {
+        employees.forEach(this::add);
+    }
+
+    /**
+     * Ranks {@code employee}, replacing any employee with the same id.
+     */
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            if (employee.getId() != null) {
+                unrank(employee.getId());
+            }
+            if (employee.getSalary() == null) {
+                return;
+            }
+            Ranked entry = new Ranked(employee.getSalary(), nextSequence++, employee);
+            ranked.add(entry);
+            if (employee.getId() != null) {
+                byId.put(employee.getId(), entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            unrank(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the highest salary, or 0 when no employee has one
+     */
+    public int highestSalary() {
+        lock.readLock().lock();
+        try {
+            return ranked.isEmpty() ? 0 : ranked.first().salary();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to {@code limit} employees, highest salary first
+     */
+    public List<Employee> topEarners(int limit) {
+        lock.readLock().lock();
+        try {
+            List<Employee> top = new ArrayList<>(Math.max(0, Math.min(limit, ranked.size())));
+            for (Ranked entry : ranked) {
+                if (top.size() >= limit) {
+                    break;
+                }
+                top.add(entry.employee());
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unrank(String id) {
+        Ranked previous = byId.remove(id);
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+    }
+
+    private record Ranked(int salary, long sequence, Employee employee) {}
+}
@@ -0,0 +1,317 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client-side token budget for upstream calls, learned from the server's responses.
+ *
+ * The mock server accepts a fixed number of requests and then answers 429 until a cooldown has passed since the
+ * last accepted request. The limiter learns that budget from the requests accepted before a 429 and the cooldown
+ * from how long the lockout actually lasted. Once learned, it spends the budget and waits out the cooldown itself
+ * instead of tripping the lockout again. A {@code Retry-After} header takes precedence over the estimate.
+ *
+ * Callers queue by {@link Priority}, so writes and roster fills are granted permits before single lookups.
+ */
+@Component
+public class AdaptiveRateLimiter {
+
+    public enum Priority {
+        /** Writes, which cannot be served from cache. */
+        HIGH,
+        /** Roster fetches that feed the cache every read endpoint is served from. */
+        NORMAL,
+        /** Single-record lookups. */
+        LOW
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+    private static final int UNKNOWN_BUDGET = Integer.MAX_VALUE;
+
+    private final boolean enabled;
+    private final long maxCooldownNanos;
+    private final ScheduledExecutorService scheduler;
+    private final PriorityQueue<Waiter> waiters =
+            new PriorityQueue<>(Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+
+    // All state below is guarded by this
+    private long sequence;
+    private int budget = UNKNOWN_BUDGET;
+    private int spent;
+    private int accepted;
+    private long cooldownNanos;
+    private long lastGrantedAt;
+    private long lastAcceptedAt;
+    private boolean lockedOut;
+    private boolean probing;
+    private long lockoutStartedAt;
+    private long blockedUntil;
+    private long drainAt;
+    private boolean drainScheduled;
+
+    public AdaptiveRateLimiter(
+            @Value("${api.rate-limit.enabled:true}") boolean enabled,
+            @Value("${api.rate-limit.initial-cooldown:30s}") Duration initialCooldown,
+            @Value("${api.rate-limit.max-cooldown:120s}") Duration maxCooldown) {
+        this.enabled = enabled;
+        this.cooldownNanos = initialCooldown.toNanos();
+        this.maxCooldownNanos = Math.max(maxCooldown.toNanos(), cooldownNanos);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param priority queueing priority of the call
+     * @param deadlineNanos {@link System#nanoTime()} after which the permit is useless to the caller
+     * @return a future completed when the call may be sent, or failed with {@link ServiceUnavailableException}
+     * when the budget is known to be exhausted past the deadline. Cancel it to leave the queue.
+     */
+    public CompletableFuture<Void> acquire(Priority priority, long deadlineNanos) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            long now = System.nanoTime();
+            rollWindow(now);
+            long availableAt = availableAt(now);
+            if (availableAt - deadlineNanos > 0) {
+                return CompletableFuture.failedFuture(
+                        new ServiceUnavailableException("Upstream request budget is exhausted for another "
+                                + TimeUnit.NANOSECONDS.toMillis(availableAt - now) + "ms."));
+            }
+            waiters.add(new Waiter(priority, sequence++, permit));
+            granted = drain(now);
+        }
+        grant(granted);
+        return permit;
+    }
+
+    /**
+     * Records a request the server let through, whatever its status.
+     */
+    public void onAccepted() {
+        if (!enabled) {
+            return;
+        }
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            long now = System.nanoTime();
+            lastAcceptedAt = now;
+            if (probing) {
+                // The lockout is over: its observed length is our cooldown estimate
+                probing = false;
+                lockedOut = false;
+                cooldownNanos = Math.min(maxCooldownNanos, Math.max(cooldownNanos / 2, now - lockoutStartedAt));
+                spent = 1;
+                accepted = 1;
+                log.info(
+                        "Upstream lockout lifted, learned budget {} requests per {}ms cooldown",
+                        budget,
+                        TimeUnit.NANOSECONDS.toMillis(cooldownNanos));
+            } else if (!lockedOut) {
+                accepted++;
+            }
+            granted = drain(now);
+        }
+        grant(granted);
+    }
+
+    /**
+     * Records a request the server answered without charging it against its budget, such as a
+     * 304 Not Modified. Its permit is handed back.
+     */
+    public void onUncharged() {
+        if (!enabled) {
+            return;
+        }
+        // The server answers these even while locked out, so a probe told us nothing; another is sent
+        release();
+    }
+
+    /**
+     * Hands back a permit whose call was never sent, such as one abandoned once its deadline passed.
+     */
+    public void release() {
+        if (!enabled) {
+            return;
+        }
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (probing) {
+                probing = false;
+            } else if (spent > 0) {
+                spent--;
+            }
+            granted = drain(now);
+        }
+        grant(granted);
+    }
+
+    /**
+     * Records a 429 from the server.
+     *
+     * @param retryAfter the server's {@code Retry-After}, or {@code null} when absent
+     */
+    public void onRateLimited(Duration retryAfter) {
+        if (!enabled) {
+            return;
+        }
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (probing) {
+                probing = false;
+                cooldownNanos = Math.min(maxCooldownNanos, cooldownNanos * 2);
+                long nextProbe = lockoutStartedAt + cooldownNanos;
+                blockedUntil = nextProbe - now > 0 ? nextProbe : now + cooldownNanos / 2;
+            } else if (!lockedOut) {
+                lockedOut = true;
+                budget = Math.max(1, Math.min(budget, accepted));
+                lockoutStartedAt = accepted > 0 ? lastAcceptedAt : now;
+                blockedUntil = lockoutStartedAt + cooldownNanos;
+                log.warn("Upstream rate limit hit after {} accepted requests, backing off", accepted);
+            }
+            if (retryAfter != null) {
+                blockedUntil = now + retryAfter.toNanos();
+            }
+            granted = drain(now);
+        }
+        grant(granted);
+    }
+
+    /**
+     * Records a permitted call that never got an answer from the server, such as an I/O failure.
+     */
+    public void onError() {
+        if (!enabled) {
+            return;
+        }
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (probing) {
+                probing = false;
+                blockedUntil = now + cooldownNanos / 10;
+            }
+            granted = drain(now);
+        }
+        grant(granted);
+    }
+
+    /**
+     * @return requests the server accepts per window, or -1 while it has not been observed
+     */
+    public synchronized int getLearnedBudget() {
+        return budget == UNKNOWN_BUDGET ? -1 : budget;
+    }
+
+    public synchronized Duration getCooldown() {
+        return Duration.ofNanos(cooldownNanos);
+    }
+
+    private void rollWindow(long now) {
+        if (!lockedOut && spent >= budget && now - windowEnd() >= 0) {
+            spent = 0;
+            accepted = 0;
+        }
+    }
+
+    private long availableAt(long now) {
+        if (lockedOut) {
+            return !probing && blockedUntil - now > 0 ? blockedUntil : now;
+        }
+        return spent >= budget ? windowEnd() : now;
+    }
+
+    /*
+     * The server measures its cooldown from the last request it accepted, so wait a little past whichever
+     * of our last grant or last acceptance is later.
+     */
+    private long windowEnd() {
+        long last = lastAcceptedAt - lastGrantedAt > 0 ? lastAcceptedAt : lastGrantedAt;
+        return last + cooldownNanos + cooldownNanos / 10;
+    }
+
+    private List<CompletableFuture<Void>> drain(long now) {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        while (!waiters.isEmpty()) {
+            rollWindow(now);
+            if (probing) {
+                // Woken again once the probe is answered
+                break;
+            }
+            long availableAt = availableAt(now);
+            if (availableAt - now > 0) {
+                scheduleDrain(now, availableAt);
+                break;
+            }
+            Waiter waiter = waiters.poll();
+            if (waiter.permit().isDone()) {
+                continue;
+            }
+            spent++;
+            lastGrantedAt = now;
+            if (lockedOut) {
+                // A single probe tests whether the lockout is over
+                probing = true;
+            }
+            granted.add(waiter.permit());
+        }
+        return granted;
+    }
+
+    private void scheduleDrain(long now, long at) {
+        if (drainScheduled && drainAt - at <= 0) {
+            return;
+        }
+        drainScheduled = true;
+        drainAt = at;
+        scheduler.schedule(this::scheduledDrain, at - now, TimeUnit.NANOSECONDS);
+    }
+
+    private void scheduledDrain() {
+        List<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            drainScheduled = false;
+            granted = drain(System.nanoTime());
+        }
+        grant(granted);
+    }
+
+    private void grant(List<CompletableFuture<Void>> granted) {
+        // Completed outside the lock, the caller's continuation runs on this thread
+        for (CompletableFuture<Void> permit : granted) {
+            if (!permit.complete(null)) {
+                // Cancelled after it was granted, hand the permit back
+                release();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record Waiter(Priority priority, long sequence, CompletableFuture<Void> permit) {}
+}
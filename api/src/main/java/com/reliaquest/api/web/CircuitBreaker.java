@@ -0,0 +1,106 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops sending calls upstream while the server is failing them, so callers fail fast instead of each spending
+ * its whole retry budget on a server that is down or locked out.
+ *
+ * The circuit opens after {@code failureThreshold} consecutive calls have failed. While it is open every call is
+ * refused. Once {@code openDuration} has passed it is half-open: the next call is let through as a probe and the
+ * rest are still refused. The circuit closes when the probe succeeds and opens again when it fails.
+ */
+@Component
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Whether a call may go upstream.
+     */
+    public enum Permission {
+        /** The circuit is closed. */
+        CALL,
+        /** The circuit is half-open and this call tests whether the server has recovered. */
+        PROBE,
+        /** The circuit is open, or half-open with its probe in flight. */
+        DENIED
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    // All state below is guarded by this
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(
+            @Value("${api.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${api.circuit-breaker.open-duration:10s}") Duration openDuration) {
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public synchronized Permission acquire() {
+        switch (state) {
+            case CLOSED:
+                return Permission.CALL;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return Permission.DENIED;
+                }
+                state = State.HALF_OPEN;
+                log.info("Upstream circuit half-open, probing the server");
+                return Permission.PROBE;
+            default:
+                return Permission.DENIED;
+        }
+    }
+
+    /**
+     * Records a call the server answered, whatever its status.
+     */
+    public synchronized void onSuccess(Permission permission) {
+        consecutiveFailures = 0;
+        if (permission == Permission.PROBE && state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            log.info("Upstream circuit closed, the server has recovered");
+        }
+    }
+
+    /**
+     * Records a call that failed for want of an answer from the server.
+     */
+    public synchronized void onFailure(Permission permission) {
+        if (permission == Permission.PROBE && state == State.HALF_OPEN) {
+            log.warn("Upstream probe failed, circuit open again");
+            open();
+            return;
+        }
+        if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            log.warn("Upstream circuit open after {} consecutive failed calls", consecutiveFailures);
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        consecutiveFailures = 0;
+    }
+}
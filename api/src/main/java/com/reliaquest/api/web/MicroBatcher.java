@@ -0,0 +1,151 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent calls for the same kind of upstream write into batches.
+ * The first item for a key opens a batch; items arriving within the batching window join it, and the batch is
+ * flushed as one call when the window closes or the batch is full. Each caller receives the result for its own item.
+ * A window of zero flushes every item on its own.
+ */
+@Component
+public class MicroBatcher {
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final boolean batching;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong items = new AtomicLong();
+
+    // Guarded by this
+    private final Map<String, Batch<?, ?>> open = new HashMap<>();
+
+    public MicroBatcher(
+            @Value("${api.batch.window:10ms}") Duration window, @Value("${api.batch.max-size:100}") int maxBatchSize) {
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(maxBatchSize, 1);
+        this.batching = windowNanos > 0 && this.maxBatchSize > 1;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "micro-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param key identifies the kind of call; only items submitted under the same key are batched together
+     * @param item the caller's input
+     * @param flush performs the call for a batch, returning one result per input in input order
+     * @return a future completed with the result for {@code item}
+     */
+    @SuppressWarnings("unchecked")
+    public <I, O> CompletableFuture<O> submitAsync(
+            String key, I item, Function<List<I>, List<CompletableFuture<O>>> flush) {
+        items.incrementAndGet();
+        CompletableFuture<O> result = new CompletableFuture<>();
+        Batch<I, O> full = null;
+        synchronized (this) {
+            Batch<I, O> batch = (Batch<I, O>) open.get(key);
+            if (batch == null) {
+                batch = new Batch<>(flush);
+                if (batching) {
+                    open.put(key, batch);
+                    Batch<I, O> scheduled = batch;
+                    scheduler.schedule(() -> close(key, scheduled), windowNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            batch.add(item, result);
+            if (!batching || batch.size() >= maxBatchSize) {
+                open.remove(key, batch);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            full.run();
+        }
+        return result;
+    }
+
+    private void close(String key, Batch<?, ?> batch) {
+        synchronized (this) {
+            if (!open.remove(key, batch)) {
+                // Already flushed because it filled up
+                return;
+            }
+        }
+        batch.run();
+    }
+
+    /**
+     * @return number of batches flushed upstream
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * @return number of items submitted
+     */
+    public long getItemCount() {
+        return items.get();
+    }
+
+    private final class Batch<I, O> {
+
+        private final Function<List<I>, List<CompletableFuture<O>>> flush;
+        private final List<I> inputs = new ArrayList<>();
+        private final List<CompletableFuture<O>> results = new ArrayList<>();
+
+        Batch(Function<List<I>, List<CompletableFuture<O>>> flush) {
+            this.flush = flush;
+        }
+
+        void add(I input, CompletableFuture<O> result) {
+            inputs.add(input);
+            results.add(result);
+        }
+
+        int size() {
+            return inputs.size();
+        }
+
+        void run() {
+            batches.incrementAndGet();
+            List<CompletableFuture<O>> outputs;
+            try {
+                outputs = flush.apply(Collections.unmodifiableList(inputs));
+                if (outputs.size() != results.size()) {
+                    throw new IllegalStateException(
+                            "Batch of " + results.size() + " items produced " + outputs.size() + " results");
+                }
+            } catch (Throwable t) {
+                results.forEach(result -> result.completeExceptionally(t));
+                return;
+            }
+            for (int i = 0; i < results.size(); i++) {
+                CompletableFuture<O> result = results.get(i);
+                outputs.get(i).whenComplete((output, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(output);
+                    }
+                });
+            }
+        }
+    }
+}
@@ -1,38 +1,357 @@
 package com.reliaquest.api.web;
 
 import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.web.AdaptiveRateLimiter.Priority;
+import com.reliaquest.api.web.CircuitBreaker.Permission;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
 
 /**
- * Provides a simple retry mechanism for network calls.
+ * Provides a non-blocking retry mechanism for network calls.
  * Note: The Server app has intentional rate limiting enabled
  *
- * @param callable the callable to retry
- * @param retries the number of retries
- * @param delay the delay between retries in milliseconds
- * @return the result of the callable
+ * Each attempt waits for a permit from the {@link AdaptiveRateLimiter}, then runs on a bounded upstream worker
+ * pool. Backoff between attempts (exponential with jitter) is scheduled on a shared scheduler, so no thread is
+ * parked while waiting to retry. Only retryable failures are retried, and every call is bounded by an overall
+ * deadline.
+ *
+ * Calls go through a {@link CircuitBreaker}: while it is open they fail at once rather than waiting out retries
+ * against a server that is down, and the single probe sent when it is half-open is attempted only once.
+ *
+ * Built with {@code -PjavaVersion=21} and run with {@code spring.threads.virtual.enabled}, attempts run on the
+ * {@code upstreamWorkers} virtual-thread executor instead, one thread each, and the HTTP connection pool alone
+ * bounds upstream concurrency.
+ *
+ * Publishes {@code api.upstream.attempts}, tagged with each attempt's outcome, {@code api.upstream.backoff}, the
+ * delays waited before retrying, and {@code api.upstream.rejected}, the calls refused by the open circuit.
  */
+@Component
+@Profile("!reactive")
 public class NetworkHandler {
-    public static <T> T call(Callable<T> callable, int maxAttempts, int initialDelay) {
-        int attempt = 0;
-        int delay = initialDelay;
-        while (attempt < maxAttempts) {
-            try {
-                return callable.call();
-            } catch (Exception e) {
-                attempt++;
-                if (attempt < maxAttempts) {
-                    try {
-                        Thread.sleep(delay);
-                        delay *= 2;
-                    } catch (InterruptedException ex) {
-                        Thread.currentThread().interrupt();
-                    }
+
+    private static final Logger log = LoggerFactory.getLogger(NetworkHandler.class);
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final Duration deadline;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService scheduler;
+    private final Counter succeededAttempts;
+    private final Counter rateLimitedAttempts;
+    private final Counter failedAttempts;
+    private final Counter rejectedCalls;
+    private final Timer backoffTimer;
+
+    public NetworkHandler(
+            AdaptiveRateLimiter rateLimiter,
+            CircuitBreaker circuitBreaker,
+            @Value("${api.retry.max-attempts:3}") int maxAttempts,
+            @Value("${api.retry.initial-delay:1s}") Duration initialDelay,
+            @Value("${api.retry.max-delay:4s}") Duration maxDelay,
+            @Value("${api.retry.deadline:10s}") Duration deadline,
+            @Value("${api.http.max-connections:50}") int workerThreads,
+            @Qualifier("upstreamWorkers") Optional<ExecutorService> upstreamWorkers,
+            MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.maxAttempts = maxAttempts;
+        this.initialDelayMillis = initialDelay.toMillis();
+        this.maxDelayMillis = Math.max(maxDelay.toMillis(), initialDelayMillis);
+        this.deadline = deadline;
+        this.workers = upstreamWorkers.orElseGet(
+                () -> Executors.newFixedThreadPool(workerThreads, daemonThreads("upstream-")));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("upstream-backoff-"));
+        this.succeededAttempts = attempts(meterRegistry, "success");
+        this.rateLimitedAttempts = attempts(meterRegistry, "rate_limited");
+        this.failedAttempts = attempts(meterRegistry, "error");
+        this.rejectedCalls = Counter.builder("api.upstream.rejected")
+                .description("Upstream calls refused without an attempt while the circuit was open")
+                .register(meterRegistry);
+        this.backoffTimer = Timer.builder("api.upstream.backoff")
+                .description("Delay before retrying a failed upstream call")
+                .register(meterRegistry);
+    }
+
+    private static Counter attempts(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("api.upstream.attempts")
+                .description("Upstream call attempts, including retries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param priority the call's claim on the upstream request budget
+     * @param callable the upstream call to attempt
+     * @return a future completed with the call's result, with the original exception when the failure is not
+     * retryable, or with {@link ServiceUnavailableException} once attempts or the deadline are exhausted, or at once
+     * while the circuit is open
+     */
+    public <T> CompletableFuture<T> callAsync(Priority priority, Callable<T> callable) {
+        return callAsync(priority, callable, value -> false);
+    }
+
+    /**
+     * @param uncharged whether a result is one the server does not charge against its request budget, such as a
+     * 304 Not Modified; the permit spent on it is handed back to the rate limiter
+     * @see #callAsync(Priority, Callable)
+     */
+    public <T> CompletableFuture<T> callAsync(Priority priority, Callable<T> callable, Predicate<? super T> uncharged) {
+        Permission permission = circuitBreaker.acquire();
+        if (permission == Permission.DENIED) {
+            rejectedCalls.increment();
+            return CompletableFuture.failedFuture(
+                    new ServiceUnavailableException("The server is not available, the circuit is open."));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        // Handed to the caller only once the circuit has recorded the outcome, so the caller's next call sees it
+        CompletableFuture<T> outcome = new CompletableFuture<>();
+        result.whenComplete((value, error) -> {
+            // Any answer from the server, even a client error, shows it is up
+            if (error instanceof ServiceUnavailableException) {
+                circuitBreaker.onFailure(permission);
+                outcome.completeExceptionally(error);
+            } else {
+                circuitBreaker.onSuccess(permission);
+                if (error != null) {
+                    outcome.completeExceptionally(error);
                 } else {
-                    throw new ServiceUnavailableException("The server is not available.");
+                    outcome.complete(value);
                 }
             }
+        });
+        ScheduledFuture<?> timeout = scheduler.schedule(
+                () -> result.completeExceptionally(new ServiceUnavailableException(
+                        "The server did not respond within " + deadline.toMillis() + "ms.")),
+                deadline.toMillis(),
+                TimeUnit.MILLISECONDS);
+        result.whenComplete((ignored, error) -> timeout.cancel(false));
+        int attempts = permission == Permission.PROBE ? 1 : maxAttempts;
+        attempt(priority, callable, uncharged, result, 1, attempts, System.nanoTime() + deadline.toNanos());
+        return outcome;
+    }
+
+    /**
+     * Waits for {@code future} and rethrows its failure unwrapped, for callers that need a blocking result.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Client errors such as a 400 or a 404 will not change on retry; a 429, a 5xx or an I/O failure might.
+     */
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof RestClientResponseException response) {
+            HttpStatusCode status = response.getStatusCode();
+            return status.value() == HttpStatus.TOO_MANY_REQUESTS.value() || status.is5xxServerError();
+        }
+        return true;
+    }
+
+    private <T> void attempt(
+            Priority priority,
+            Callable<T> callable,
+            Predicate<? super T> uncharged,
+            CompletableFuture<T> result,
+            int attempt,
+            int attempts,
+            long deadlineNanos) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletableFuture<Void> permit = rateLimiter.acquire(priority, deadlineNanos);
+        // Leave the limiter's queue if the call times out while waiting for a permit
+        result.whenComplete((ignored, error) -> permit.cancel(false));
+        permit.whenComplete((ignored, denied) -> {
+            if (denied != null) {
+                if (denied instanceof ServiceUnavailableException e) {
+                    result.completeExceptionally(e);
+                }
+                return;
+            }
+            try {
+                workers.execute(() -> send(priority, callable, uncharged, result, attempt, attempts, deadlineNanos));
+            } catch (RejectedExecutionException e) {
+                rateLimiter.release();
+                result.completeExceptionally(new ServiceUnavailableException("The server is not available.", e));
+            }
+        });
+    }
+
+    private <T> void send(
+            Priority priority,
+            Callable<T> callable,
+            Predicate<? super T> uncharged,
+            CompletableFuture<T> result,
+            int attempt,
+            int attempts,
+            long deadlineNanos) {
+        if (result.isDone()) {
+            rateLimiter.release();
+            return;
+        }
+        try {
+            T value = callable.call();
+            succeededAttempts.increment();
+            if (uncharged.test(value)) {
+                rateLimiter.onUncharged();
+            } else {
+                rateLimiter.onAccepted();
+            }
+            result.complete(value);
+        } catch (Exception e) {
+            observe(e);
+            onFailure(priority, callable, uncharged, result, attempt, attempts, deadlineNanos, e);
+        }
+    }
+
+    /*
+     * Feeds the outcome of a failed attempt to the rate limiter: a 429 is a lockout,
+     * any other HTTP status means the server let the request through.
+     */
+    private void observe(Exception error) {
+        if (error instanceof RestClientResponseException response) {
+            if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimitedAttempts.increment();
+                rateLimiter.onRateLimited(retryAfter(response.getResponseHeaders()));
+            } else {
+                failedAttempts.increment();
+                rateLimiter.onAccepted();
+            }
+        } else {
+            failedAttempts.increment();
+            rateLimiter.onError();
+        }
+    }
+
+    /**
+     * @return the {@code Retry-After} delay, given either in seconds or as an HTTP date, or {@code null}
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration delay = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (DateTimeParseException ignored) {
+                log.debug("Ignoring unparseable Retry-After header: {}", value);
+                return null;
+            }
+        }
+    }
+
+    private <T> void onFailure(
+            Priority priority,
+            Callable<T> callable,
+            Predicate<? super T> uncharged,
+            CompletableFuture<T> result,
+            int attempt,
+            int attempts,
+            long deadlineNanos,
+            Exception error) {
+        if (!isRetryable(error)) {
+            log.debug("Attempt {} failed with a non-retryable error: {}", attempt, error.getMessage());
+            result.completeExceptionally(error);
+            return;
+        }
+        if (attempt >= attempts) {
+            log.warn("Giving up after {} attempts: {}", attempt, error.getMessage());
+            result.completeExceptionally(new ServiceUnavailableException("The server is not available.", error));
+            return;
+        }
+
+        long delay = backoff(attempt, initialDelayMillis, maxDelayMillis);
+        if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay) - deadlineNanos > 0) {
+            log.warn(
+                    "Next retry would exceed the {}ms deadline, giving up after {} attempts",
+                    deadline.toMillis(),
+                    attempt);
+            result.completeExceptionally(new ServiceUnavailableException("The server is not available.", error));
+            return;
         }
-        return null; // should never occur
+        log.debug("Attempt {} failed ({}), retrying in {}ms", attempt, error.getMessage(), delay);
+        backoffTimer.record(delay, TimeUnit.MILLISECONDS);
+        try {
+            scheduler.schedule(
+                    () -> attempt(priority, callable, uncharged, result, attempt + 1, attempts, deadlineNanos),
+                    delay,
+                    TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new ServiceUnavailableException("The server is not available.", error));
+        }
+    }
+
+    /*
+     * Exponential backoff with "equal jitter": half of the delay is fixed, the other half random,
+     * so callers that failed together do not retry together.
+     */
+    static long backoff(int attempt, long initialDelayMillis, long maxDelayMillis) {
+        long exponential = Math.min(maxDelayMillis, initialDelayMillis << Math.min(attempt - 1, 30));
+        long half = exponential / 2;
+        return half + ThreadLocalRandom.current().nextLong(exponential - half + 1);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
     }
 }
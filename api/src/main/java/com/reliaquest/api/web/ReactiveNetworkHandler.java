@@ -0,0 +1,185 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.web.AdaptiveRateLimiter.Priority;
+import com.reliaquest.api.web.CircuitBreaker.Permission;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Reactive counterpart of {@link NetworkHandler}, for the {@code reactive} profile.
+ *
+ * The same policy expressed as operators: each attempt waits for a permit from the {@link AdaptiveRateLimiter},
+ * retryable failures are retried with the same jittered exponential backoff, and the whole call is bounded by a
+ * deadline. Backoff delays run on Reactor's timer, so no thread is held between attempts. Calls go through the same
+ * {@link CircuitBreaker}: while it is open they fail at once, and the probe sent when it is half-open is attempted
+ * only once. Publishes the same {@code api.upstream.attempts}, {@code api.upstream.backoff} and
+ * {@code api.upstream.rejected} meters.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveNetworkHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveNetworkHandler.class);
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final Duration deadline;
+    private final Counter succeededAttempts;
+    private final Counter rateLimitedAttempts;
+    private final Counter failedAttempts;
+    private final Counter rejectedCalls;
+    private final Timer backoffTimer;
+
+    public ReactiveNetworkHandler(
+            AdaptiveRateLimiter rateLimiter,
+            CircuitBreaker circuitBreaker,
+            @Value("${api.retry.max-attempts:3}") int maxAttempts,
+            @Value("${api.retry.initial-delay:1s}") Duration initialDelay,
+            @Value("${api.retry.max-delay:4s}") Duration maxDelay,
+            @Value("${api.retry.deadline:10s}") Duration deadline,
+            MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.maxAttempts = maxAttempts;
+        this.initialDelayMillis = initialDelay.toMillis();
+        this.maxDelayMillis = Math.max(maxDelay.toMillis(), initialDelayMillis);
+        this.deadline = deadline;
+        this.succeededAttempts = attempts(meterRegistry, "success");
+        this.rateLimitedAttempts = attempts(meterRegistry, "rate_limited");
+        this.failedAttempts = attempts(meterRegistry, "error");
+        this.rejectedCalls = Counter.builder("api.upstream.rejected")
+                .description("Upstream calls refused without an attempt while the circuit was open")
+                .register(meterRegistry);
+        this.backoffTimer = Timer.builder("api.upstream.backoff")
+                .description("Delay before retrying a failed upstream call")
+                .register(meterRegistry);
+    }
+
+    private static Counter attempts(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("api.upstream.attempts")
+                .description("Upstream call attempts, including retries")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param priority the call's claim on the upstream request budget
+     * @param request the upstream call to attempt; subscribed once per attempt
+     * @return the call's result, the original error when the failure is not retryable, or
+     * {@link ServiceUnavailableException} once attempts or the deadline are exhausted, or at once while the circuit
+     * is open
+     */
+    public <T> Mono<T> call(Priority priority, Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            Permission permission = circuitBreaker.acquire();
+            if (permission == Permission.DENIED) {
+                rejectedCalls.increment();
+                return Mono.error(new ServiceUnavailableException("The server is not available, the circuit is open."));
+            }
+            long deadlineNanos = System.nanoTime() + deadline.toNanos();
+            int attempts = permission == Permission.PROBE ? 1 : maxAttempts;
+            // Cancelling the permit leaves the limiter's queue if the call times out while waiting
+            return Mono.fromFuture(() -> rateLimiter.acquire(priority, deadlineNanos))
+                    .then(Mono.defer(request)
+                            .doOnSuccess(ignored -> {
+                                succeededAttempts.increment();
+                                rateLimiter.onAccepted();
+                            })
+                            .doOnError(this::observe))
+                    .retryWhen(retry(deadlineNanos, attempts))
+                    .timeout(
+                            deadline,
+                            Mono.error(() -> new ServiceUnavailableException(
+                                    "The server did not respond within " + deadline.toMillis() + "ms.")))
+                    // Any answer from the server, even a client error, shows it is up
+                    .doOnSuccess(ignored -> circuitBreaker.onSuccess(permission))
+                    .doOnError(error -> {
+                        if (error instanceof ServiceUnavailableException) {
+                            circuitBreaker.onFailure(permission);
+                        } else {
+                            circuitBreaker.onSuccess(permission);
+                        }
+                    })
+                    // A probe abandoned by its caller proved nothing, but must not leave the circuit half-open
+                    .doOnCancel(() -> {
+                        if (permission == Permission.PROBE) {
+                            circuitBreaker.onFailure(permission);
+                        }
+                    });
+        });
+    }
+
+    private Retry retry(long deadlineNanos, int maxAttempts) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable error = signal.failure();
+            int attempt = (int) signal.totalRetries() + 1;
+            if (error instanceof ServiceUnavailableException || !isRetryable(error)) {
+                log.debug("Attempt {} failed with a non-retryable error: {}", attempt, error.getMessage());
+                return Mono.error(error);
+            }
+            if (attempt >= maxAttempts) {
+                log.warn("Giving up after {} attempts: {}", attempt, error.getMessage());
+                return Mono.error(new ServiceUnavailableException("The server is not available.", error));
+            }
+            long delay = NetworkHandler.backoff(attempt, initialDelayMillis, maxDelayMillis);
+            if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay) - deadlineNanos > 0) {
+                log.warn(
+                        "Next retry would exceed the {}ms deadline, giving up after {} attempts",
+                        deadline.toMillis(),
+                        attempt);
+                return Mono.error(new ServiceUnavailableException("The server is not available.", error));
+            }
+            log.debug("Attempt {} failed ({}), retrying in {}ms", attempt, error.getMessage(), delay);
+            backoffTimer.record(delay, TimeUnit.MILLISECONDS);
+            return Mono.delay(Duration.ofMillis(delay));
+        }));
+    }
+
+    /**
+     * Client errors such as a 400 or a 404 will not change on retry; a 429, a 5xx or an I/O failure might.
+     */
+    static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            HttpStatusCode status = response.getStatusCode();
+            return status.value() == HttpStatus.TOO_MANY_REQUESTS.value() || status.is5xxServerError();
+        }
+        return NetworkHandler.isRetryable(error);
+    }
+
+    /*
+     * Feeds the outcome of a failed attempt to the rate limiter: a 429 is a lockout,
+     * any other HTTP status means the server let the request through.
+     */
+    private void observe(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            if (response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimitedAttempts.increment();
+                rateLimiter.onRateLimited(NetworkHandler.retryAfter(response.getHeaders()));
+            } else {
+                failedAttempts.increment();
+                rateLimiter.onAccepted();
+            }
+        } else {
+            failedAttempts.increment();
+            rateLimiter.onError();
+        }
+    }
+}
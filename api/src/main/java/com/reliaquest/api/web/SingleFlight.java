@@ -0,0 +1,85 @@
+package com.reliaquest.api.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces concurrent calls for the same upstream resource.
+ * The first caller for a key performs the call; callers arriving while it is in flight wait for it and
+ * receive the same result or the same failure instead of issuing their own request.
+ *
+ * Publishes {@code api.singleflight.executed}, the calls that went upstream, and {@code api.singleflight.coalesced},
+ * the calls that joined one already in flight.
+ */
+@Component
+public class SingleFlight implements MeterBinder {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("api.singleflight.executed", executed, AtomicLong::get)
+                .description("Single-flight calls that went upstream")
+                .register(registry);
+        FunctionCounter.builder("api.singleflight.coalesced", coalesced, AtomicLong::get)
+                .description("Single-flight calls served by joining one already in flight")
+                .register(registry);
+    }
+
+    /**
+     * @param key identifies the upstream resource
+     * @param supplier starts the upstream call; only invoked when no call for {@code key} is in flight
+     * @return a future completed with the shared result or failure
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> callAsync(String key, Supplier<CompletableFuture<T>> supplier) {
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            // Each follower gets its own copy so cancelling it cannot affect the shared call
+            return (CompletableFuture<T>) existing.copy();
+        }
+
+        executed.incrementAndGet();
+        CompletableFuture<T> upstream;
+        try {
+            upstream = supplier.get();
+        } catch (Throwable t) {
+            upstream = CompletableFuture.failedFuture(t);
+        }
+        upstream.whenComplete((result, error) -> {
+            inFlight.remove(key, call);
+            if (error != null) {
+                call.completeExceptionally(error);
+            } else {
+                call.complete(result);
+            }
+        });
+        // Like the followers, the caller sees the outcome only once the key is released, so a call it makes in
+        // reaction, such as a retry, starts afresh instead of joining the one that just completed
+        return (CompletableFuture<T>) call.copy();
+    }
+
+    /**
+     * @return number of calls that actually went upstream
+     */
+    public long getExecutedCount() {
+        return executed.get();
+    }
+
+    /**
+     * @return number of calls that were served by joining an in-flight call
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.api.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Times every request sent to the server, up to the arrival of the response headers, as
+ * {@code api.upstream.requests}, tagged with the HTTP method and the response status, or {@code IO_ERROR} when no
+ * response arrived.
+ *
+ * Request paths carry employee ids, so they are deliberately left out of the tags to keep the number of timers
+ * bounded.
+ */
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } finally {
+            sample.stop(Timer.builder("api.upstream.requests")
+                    .description("Requests sent to the server")
+                    .tag("method", request.getMethod().name())
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
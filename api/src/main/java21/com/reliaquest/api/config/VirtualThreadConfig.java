@@ -0,0 +1,24 @@
+package com.reliaquest.api.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs upstream attempts on virtual threads when {@code spring.threads.virtual.enabled} is set. Only compiled when
+ * building with {@code -PjavaVersion=21}; without it, the NetworkHandler keeps its fixed worker pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Profile("!reactive")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService upstreamWorkers() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
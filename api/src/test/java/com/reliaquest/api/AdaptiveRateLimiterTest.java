@@ -0,0 +1,118 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.AdaptiveRateLimiter.Priority;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveRateLimiterTest {
+
+    private final AdaptiveRateLimiter rateLimiter =
+            new AdaptiveRateLimiter(true, Duration.ofMillis(50), Duration.ofMillis(200));
+
+    @Test
+    public void testLearnsBudgetFromFirstLockout() {
+        assertEquals(-1, rateLimiter.getLearnedBudget());
+
+        spend(3);
+        lockOut(null);
+
+        assertEquals(3, rateLimiter.getLearnedBudget());
+    }
+
+    @Test
+    public void testExhaustedBudgetWaitsForCooldown() throws Exception {
+        spend(3);
+        lockOut(null);
+        // A single probe goes out once the estimated cooldown has passed
+        acquire(Priority.NORMAL).get(1, TimeUnit.SECONDS);
+        rateLimiter.onAccepted();
+
+        spend(2);
+        CompletableFuture<Void> next = acquire(Priority.NORMAL);
+
+        assertFalse(next.isDone());
+        next.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testUnchargedRequestHandsBackItsPermit() throws Exception {
+        spend(3);
+        lockOut(null);
+        acquire(Priority.NORMAL).get(1, TimeUnit.SECONDS);
+        rateLimiter.onAccepted();
+        spend(1);
+
+        assertTrue(acquire(Priority.NORMAL).isDone());
+        rateLimiter.onUncharged();
+
+        assertTrue(acquire(Priority.NORMAL).isDone());
+        assertFalse(acquire(Priority.NORMAL).isDone());
+    }
+
+    @Test
+    public void testPermitCancelledAsItIsGrantedIsHandedBack() throws Exception {
+        spend(3);
+        lockOut(null);
+        acquire(Priority.NORMAL).get(1, TimeUnit.SECONDS);
+        CompletableFuture<Void> first = acquire(Priority.NORMAL);
+        CompletableFuture<Void> second = acquire(Priority.NORMAL);
+        // Granted together once the probe is answered; the first caller abandons the second before it completes
+        first.thenRun(() -> second.cancel(false));
+
+        rateLimiter.onAccepted();
+
+        assertTrue(first.isDone());
+        assertTrue(second.isCancelled());
+        // The probe and the first permit are spent, the second was handed back
+        assertTrue(acquire(Priority.NORMAL).isDone());
+        assertFalse(acquire(Priority.NORMAL).isDone());
+    }
+
+    @Test
+    public void testHigherPriorityIsGrantedFirst() throws Exception {
+        spend(1);
+        lockOut(Duration.ofMillis(50));
+
+        CompletableFuture<Void> low = acquire(Priority.LOW);
+        CompletableFuture<Void> high = acquire(Priority.HIGH);
+
+        high.get(1, TimeUnit.SECONDS);
+        assertFalse(low.isDone());
+        rateLimiter.onAccepted();
+        low.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testFailsFastWhenRetryAfterOutlastsDeadline() {
+        spend(1);
+        lockOut(Duration.ofSeconds(60));
+
+        CompletableFuture<Void> permit =
+                rateLimiter.acquire(Priority.HIGH, System.nanoTime() + TimeUnit.SECONDS.toNanos(1));
+
+        assertTrue(permit.isCompletedExceptionally());
+    }
+
+    private void spend(int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertTrue(acquire(Priority.NORMAL).isDone());
+            rateLimiter.onAccepted();
+        }
+    }
+
+    private void lockOut(Duration retryAfter) {
+        assertTrue(acquire(Priority.NORMAL).isDone());
+        rateLimiter.onRateLimited(retryAfter);
+    }
+
+    private CompletableFuture<Void> acquire(Priority priority) {
+        return rateLimiter.acquire(priority, System.nanoTime() + TimeUnit.MINUTES.toNanos(1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.web.CircuitBreaker;
+import com.reliaquest.api.web.CircuitBreaker.Permission;
+import com.reliaquest.api.web.CircuitBreaker.State;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(3, Duration.ofMinutes(1));
+
+        fail(circuitBreaker, 2);
+        circuitBreaker.onSuccess(circuitBreaker.acquire());
+        fail(circuitBreaker, 2);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+
+        fail(circuitBreaker, 1);
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(Permission.DENIED, circuitBreaker.acquire());
+    }
+
+    @Test
+    public void testHalfOpenLetsOneProbeThrough() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ZERO);
+        fail(circuitBreaker, 1);
+
+        Permission probe = circuitBreaker.acquire();
+
+        assertEquals(Permission.PROBE, probe);
+        assertEquals(State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals(Permission.DENIED, circuitBreaker.acquire());
+
+        circuitBreaker.onSuccess(probe);
+
+        assertEquals(State.CLOSED, circuitBreaker.getState());
+        assertEquals(Permission.CALL, circuitBreaker.acquire());
+    }
+
+    @Test
+    public void testFailedProbeOpensCircuitAgain() throws InterruptedException {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofMillis(20));
+        fail(circuitBreaker, 1);
+        Thread.sleep(30);
+
+        circuitBreaker.onFailure(circuitBreaker.acquire());
+
+        assertEquals(State.OPEN, circuitBreaker.getState());
+        assertEquals(Permission.DENIED, circuitBreaker.acquire());
+    }
+
+    private static void fail(CircuitBreaker circuitBreaker, int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.onFailure(circuitBreaker.acquire());
+        }
+    }
+}
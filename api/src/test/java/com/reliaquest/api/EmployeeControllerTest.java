@@ -8,13 +8,18 @@ import com.reliaquest.api.exception.ServiceUnavailableException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.Roster;
+import com.reliaquest.api.service.RosterCache;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -51,6 +56,33 @@ public class EmployeeControllerTest {
         assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
     }
 
+    @Test
+    public void testReadsFallBackToLastKnownRosterMarkedStale() {
+        Roster roster = new Roster(Arrays.asList(
+                new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"),
+                new Employee("2", "Jane", 90000, 41, "Manager", "test@dummy.com")));
+        when(employeeService.getLastKnownRoster())
+                .thenReturn(Optional.of(new RosterCache.StaleRoster(roster, Duration.ofSeconds(90))));
+        when(employeeService.getAllEmployees()).thenThrow(new ServiceUnavailableException("Circuit open"));
+        when(employeeService.getHighestSalary()).thenThrow(new ServiceUnavailableException("Circuit open"));
+        when(employeeService.getTopTenHighestEarningEmployeeNames())
+                .thenThrow(new ServiceUnavailableException("Circuit open"));
+
+        ResponseEntity<List<Employee>> employees = employeeController.getAllEmployees();
+        ResponseEntity<Integer> highestSalary = employeeController.getHighestSalaryOfEmployees();
+        ResponseEntity<List<String>> topEarners = employeeController.getTopTenHighestEarningEmployeeNames();
+
+        assertEquals(HttpStatus.OK, employees.getStatusCode());
+        assertEquals(2, employees.getBody().size());
+        assertEquals(90000, highestSalary.getBody());
+        assertEquals(List.of("Jane", "John"), topEarners.getBody());
+        assertEquals("110 - \"Response is Stale\"", employees.getHeaders().getFirst(HttpHeaders.WARNING));
+        assertEquals("110 - \"Response is Stale\"", topEarners.getHeaders().getFirst(HttpHeaders.WARNING));
+        assertEquals("stale", employees.getHeaders().getFirst("X-Cache"));
+        assertEquals("stale", highestSalary.getHeaders().getFirst("X-Cache"));
+        assertEquals("90", topEarners.getHeaders().getFirst(HttpHeaders.AGE));
+    }
+
     @Test
     public void testGetEmployeeByIdSuccess() {
         Employee mockEmployee = new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com");
@@ -11,33 +11,45 @@ import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.api.service.RosterCache;
 import java.util.Arrays;
 import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
-@SpringBootTest
+@SpringBootTest(properties = "api.events.enabled=false")
 public class EmployeeIntegrationTest {
 
     @Autowired
     private EmployeeController employeeController;
 
+    @Autowired
+    private RosterCache rosterCache;
+
     @MockBean
     private RestTemplate restTemplate;
 
+    @BeforeEach
+    public void setUp() {
+        rosterCache.invalidate();
+    }
+
     @Test
     public void testGetAllEmployeesIntegration() {
         List<Employee> mockEmployees = Arrays.asList(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"));
         EmployeesResponse response = new EmployeesResponse();
         response.setData(mockEmployees);
-        when(restTemplate.getForObject(any(String.class), eq(EmployeesResponse.class)))
-                .thenReturn(response);
+        when(restTemplate.exchange(
+                        any(String.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(EmployeesResponse.class)))
+                .thenReturn(ResponseEntity.ok(response));
 
         ResponseEntity<List<Employee>> result = employeeController.getAllEmployees();
 
@@ -80,13 +92,14 @@ public class EmployeeIntegrationTest {
     @Test
     public void testDeleteEmployeeByIdIntegration() {
         Employee mockEmployee = new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com");
-        EmployeeResponse getResponse = new EmployeeResponse();
-        getResponse.setData(mockEmployee);
-        when(restTemplate.getForObject(eq("http://localhost:8112/api/v1/employee/1"), eq(EmployeeResponse.class)))
-                .thenReturn(getResponse);
+        EmployeeResponse deleteResponse = new EmployeeResponse();
+        deleteResponse.setData(mockEmployee);
         when(restTemplate.exchange(
-                        eq("http://localhost:8112/api/v1/employee"), eq(HttpMethod.DELETE), any(), eq(String.class)))
-                .thenReturn(ResponseEntity.ok("John"));
+                        eq("http://localhost:8112/api/v1/employee/1"),
+                        eq(HttpMethod.DELETE),
+                        any(),
+                        eq(EmployeeResponse.class)))
+                .thenReturn(ResponseEntity.ok(deleteResponse));
 
         ResponseEntity<String> result = employeeController.deleteEmployeeById("1");
 
@@ -102,8 +115,9 @@ public class EmployeeIntegrationTest {
                 new Employee("3", "Alice Johnson", 55000, 32, "Dev", "test@dummy.com"));
         EmployeesResponse response = new EmployeesResponse();
         response.setData(mockEmployees);
-        when(restTemplate.getForObject(any(String.class), eq(EmployeesResponse.class)))
-                .thenReturn(response);
+        when(restTemplate.exchange(
+                        any(String.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(EmployeesResponse.class)))
+                .thenReturn(ResponseEntity.ok(response));
 
         ResponseEntity<List<Employee>> result = employeeController.getEmployeesByNameSearch("john");
 
@@ -115,7 +129,8 @@ public class EmployeeIntegrationTest {
 
     @Test
     public void testGetAllEmployeesServiceUnavailableIntegration() {
-        when(restTemplate.getForObject(any(String.class), eq(EmployeesResponse.class)))
+        when(restTemplate.exchange(
+                        any(String.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(EmployeesResponse.class)))
                 .thenThrow(new RuntimeException("Connection failed"))
                 .thenThrow(new RuntimeException("Connection failed"))
                 .thenThrow(new RuntimeException("Connection failed"));
@@ -1,35 +1,92 @@
 package com.reliaquest.api;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.ServiceUnavailableException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeChangesResponse;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.api.model.HighestSalaryResponse;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RosterCache;
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.CircuitBreaker;
+import com.reliaquest.api.web.MicroBatcher;
+import com.reliaquest.api.web.NetworkHandler;
+import com.reliaquest.api.web.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.OngoingStubbing;
+import org.mockito.verification.VerificationMode;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 public class EmployeeServiceTest {
 
+    private static final String EMPLOYEES_URL = "http://localhost:8112/api/v1/employee";
+
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RosterCache rosterCache;
+
     private EmployeeService employeeService;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        rosterCache = new RosterCache(Duration.ofSeconds(30), Duration.ZERO);
+        employeeService = newEmployeeService(rosterCache);
+    }
+
+    private EmployeeService newEmployeeService(RosterCache rosterCache) {
+        return new EmployeeService(
+                restTemplate,
+                rosterCache,
+                new SingleFlight(),
+                new NetworkHandler(
+                        new AdaptiveRateLimiter(true, Duration.ofMillis(10), Duration.ofMillis(40)),
+                        new CircuitBreaker(5, Duration.ofSeconds(10)),
+                        3,
+                        Duration.ofMillis(10),
+                        Duration.ofMillis(40),
+                        Duration.ofSeconds(5),
+                        4,
+                        Optional.empty(),
+                        meterRegistry),
+                new MicroBatcher(Duration.ofMillis(50), 100));
     }
 
     @Test
@@ -37,8 +94,7 @@ public class EmployeeServiceTest {
         List<Employee> mockEmployees = Arrays.asList(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"));
         EmployeesResponse response = new EmployeesResponse();
         response.setData(mockEmployees);
-        when(restTemplate.getForObject(anyString(), eq(EmployeesResponse.class)))
-                .thenReturn(response);
+        whenRosterFetched().thenReturn(ResponseEntity.ok(response));
 
         List<Employee> employees = employeeService.getAllEmployees();
 
@@ -53,8 +109,7 @@ public class EmployeeServiceTest {
                 new Employee("2", "Jane Smith", 60000, 28, "Manager", "test@dummy.com"));
         EmployeesResponse response = new EmployeesResponse();
         response.setData(mockEmployees);
-        when(restTemplate.getForObject(anyString(), eq(EmployeesResponse.class)))
-                .thenReturn(response);
+        whenRosterFetched().thenReturn(ResponseEntity.ok(response));
 
         List<Employee> result = employeeService.searchEmployeesByName("john");
 
@@ -67,10 +122,7 @@ public class EmployeeServiceTest {
         List<Employee> mockEmployees = Arrays.asList(
                 new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"),
                 new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com"));
-        EmployeesResponse response = new EmployeesResponse();
-        response.setData(mockEmployees);
-        when(restTemplate.getForObject(anyString(), eq(EmployeesResponse.class)))
-                .thenReturn(response);
+        stubRoster(mockEmployees);
 
         Integer highestSalary = employeeService.getHighestSalary();
 
@@ -91,4 +143,414 @@ public class EmployeeServiceTest {
 
         assertEquals("Jane", created.getName());
     }
+
+    @Test
+    public void testRosterIsServedFromCache() {
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Arrays.asList(
+                new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"),
+                new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com")));
+        whenRosterFetched().thenReturn(ResponseEntity.ok(response));
+
+        employeeService.getAllEmployees();
+        employeeService.searchEmployeesByName("jo");
+        employeeService.getHighestSalary();
+        employeeService.getTopTenHighestEarningEmployeeNames();
+
+        verifyRosterFetched(times(1));
+        verify(restTemplate, never()).getForObject(anyString(), eq(EmployeesResponse.class));
+    }
+
+    @Test
+    public void testConcurrentCreatesShareOneBulkRequest() {
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Arrays.asList(
+                new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com"),
+                new Employee("3", "Jim", 55000, 41, "Dev", "test@dummy.com")));
+        when(restTemplate.postForObject(
+                        eq("http://localhost:8112/api/v1/employee/bulk"), any(), eq(EmployeesResponse.class)))
+                .thenReturn(response);
+
+        CompletableFuture<Employee> jane =
+                employeeService.createEmployeeAsync(new EmployeeInput("Jane", 60000, 28, "Manager"));
+        CompletableFuture<Employee> jim =
+                employeeService.createEmployeeAsync(new EmployeeInput("Jim", 55000, 41, "Dev"));
+
+        assertEquals("2", jane.join().getId());
+        assertEquals("3", jim.join().getId());
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(EmployeesResponse.class));
+        verify(restTemplate, never()).postForObject(anyString(), any(), eq(EmployeeResponse.class));
+    }
+
+    @Test
+    public void testRejectedBatchFallsBackToIndividualCreates() {
+        when(restTemplate.postForObject(
+                        eq("http://localhost:8112/api/v1/employee/bulk"), any(), eq(EmployeesResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "", null, null, null));
+        EmployeeInput janeInput = new EmployeeInput("Jane", 60000, 28, "Manager");
+        EmployeeResponse janeResponse = new EmployeeResponse();
+        janeResponse.setData(new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com"));
+        when(restTemplate.postForObject(anyString(), eq(janeInput), eq(EmployeeResponse.class)))
+                .thenReturn(janeResponse);
+        EmployeeInput invalidInput = new EmployeeInput("", -1, 28, "Manager");
+        when(restTemplate.postForObject(anyString(), eq(invalidInput), eq(EmployeeResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "", null, null, null));
+
+        CompletableFuture<Employee> jane = employeeService.createEmployeeAsync(janeInput);
+        CompletableFuture<Employee> invalid = employeeService.createEmployeeAsync(invalidInput);
+
+        assertEquals("Jane", jane.join().getName());
+        assertThrows(HttpClientErrorException.BadRequest.class, () -> NetworkHandler.await(invalid));
+    }
+
+    @Test
+    public void testCreateEmployeeUpdatesCachedRoster() {
+        EmployeesResponse rosterResponse = new EmployeesResponse();
+        rosterResponse.setData(Arrays.asList(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com")));
+        whenRosterFetched().thenReturn(ResponseEntity.ok(rosterResponse));
+        EmployeeInput input = new EmployeeInput();
+        input.setName("Jane");
+        EmployeeResponse createResponse = new EmployeeResponse();
+        createResponse.setData(new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com"));
+        when(restTemplate.postForObject(anyString(), eq(input), eq(EmployeeResponse.class)))
+                .thenReturn(createResponse);
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(input);
+        List<Employee> employees = employeeService.getAllEmployees();
+        List<Employee> matches = employeeService.searchEmployeesByName("jan");
+
+        assertEquals(2, employees.size());
+        assertEquals("Jane", matches.get(0).getName());
+        verifyRosterFetched(times(1));
+        verify(restTemplate, never()).getForObject(anyString(), eq(EmployeesResponse.class));
+    }
+
+    @Test
+    public void testRosterIsRevalidatedWithEntityTag() {
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Arrays.asList(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com")));
+        whenRosterFetched()
+                .thenReturn(ResponseEntity.ok().eTag("\"v1\"").body(response))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag("\"v1\"")
+                        .build());
+
+        employeeService.getAllEmployees();
+        rosterCache.invalidate();
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        assertEquals(1, employees.size());
+        assertEquals("John", employees.get(0).getName());
+        ArgumentCaptor<HttpEntity<?>> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2))
+                .exchange(eq(EMPLOYEES_URL), eq(HttpMethod.GET), requests.capture(), eq(EmployeesResponse.class));
+        assertTrue(requests.getAllValues().get(0).getHeaders().getIfNoneMatch().isEmpty());
+        assertEquals(
+                List.of("\"v1\""), requests.getAllValues().get(1).getHeaders().getIfNoneMatch());
+    }
+
+    @Test
+    public void testExpiredRosterIsBroughtUpToDateWithChanges() throws InterruptedException {
+        rosterCache = new RosterCache(Duration.ofMillis(1), Duration.ZERO);
+        employeeService = newEmployeeService(rosterCache);
+        Employee john = new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com");
+        Employee jane = new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com");
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Arrays.asList(john));
+        whenRosterFetched().thenReturn(ResponseEntity.ok().eTag("\"e-1\"").body(response));
+        EmployeeChangesResponse changes = new EmployeeChangesResponse();
+        changes.setData(new EmployeeChanges(
+                "e-3",
+                false,
+                List.of(
+                        new EmployeeChange(2, EmployeeChange.Type.CREATED, jane),
+                        new EmployeeChange(3, EmployeeChange.Type.DELETED, john))));
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/changes?since={since}"),
+                        eq(HttpMethod.GET),
+                        any(HttpEntity.class),
+                        eq(EmployeeChangesResponse.class),
+                        anyString()))
+                .thenReturn(ResponseEntity.ok().eTag("\"e-3\"").body(changes));
+
+        employeeService.getAllEmployees();
+        Thread.sleep(5);
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        assertEquals(List.of(jane), employees);
+        assertEquals(List.of(jane), employeeService.searchEmployeesByName("jan"));
+        verify(restTemplate)
+                .exchange(
+                        eq("http://localhost:8112/api/v1/employee/changes?since={since}"),
+                        eq(HttpMethod.GET),
+                        any(HttpEntity.class),
+                        eq(EmployeeChangesResponse.class),
+                        eq("\"e-1\""));
+        verifyRosterFetched(times(1));
+    }
+
+    @Test
+    public void testRosterIsFetchedAgainWhenChangesAreNoLongerRetained() throws InterruptedException {
+        rosterCache = new RosterCache(Duration.ofMillis(1), Duration.ZERO);
+        employeeService = newEmployeeService(rosterCache);
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Arrays.asList(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com")));
+        whenRosterFetched().thenReturn(ResponseEntity.ok().eTag("\"e-1\"").body(response));
+        EmployeeChangesResponse changes = new EmployeeChangesResponse();
+        changes.setData(new EmployeeChanges("f-0", true, List.of()));
+        when(restTemplate.exchange(
+                        anyString(),
+                        eq(HttpMethod.GET),
+                        any(HttpEntity.class),
+                        eq(EmployeeChangesResponse.class),
+                        anyString()))
+                .thenReturn(ResponseEntity.ok(changes));
+
+        employeeService.getAllEmployees();
+        Thread.sleep(5);
+        employeeService.getAllEmployees();
+
+        verifyRosterFetched(times(2));
+    }
+
+    @Test
+    public void testPushedChangesKeepExpiredRosterWithoutUpstreamCalls() throws InterruptedException {
+        rosterCache = new RosterCache(Duration.ofMillis(1), Duration.ZERO);
+        employeeService = newEmployeeService(rosterCache);
+        Employee john = new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com");
+        Employee jane = new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com");
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Arrays.asList(john));
+        whenRosterFetched().thenReturn(ResponseEntity.ok().eTag("\"e-5\"").body(response));
+
+        employeeService.getAllEmployees();
+        employeeService.setRosterPushed(true);
+        // Replayed from before the roster was fetched, so already reflected in it
+        employeeService.applyRosterChange("e-4", new EmployeeChange(4, EmployeeChange.Type.DELETED, john));
+        employeeService.applyRosterChange("e-6", new EmployeeChange(6, EmployeeChange.Type.CREATED, jane));
+        Thread.sleep(5);
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        assertEquals(List.of(john, jane), employees);
+        assertEquals("e-6", employeeService.getRosterVersion());
+        verifyRosterFetched(times(1));
+        verify(restTemplate, never())
+                .exchange(
+                        anyString(),
+                        eq(HttpMethod.GET),
+                        any(HttpEntity.class),
+                        eq(EmployeeChangesResponse.class),
+                        anyString());
+    }
+
+    @Test
+    public void testRateLimitedCallIsRetried() {
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Arrays.asList(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com")));
+        whenRosterFetched()
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null))
+                .thenReturn(ResponseEntity.ok(response));
+
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        assertEquals(1, employees.size());
+        verifyRosterFetched(times(2));
+    }
+
+    @Test
+    public void testRetriesArePublishedAsMetrics() {
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Arrays.asList(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com")));
+        whenRosterFetched()
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null))
+                .thenReturn(ResponseEntity.ok(response));
+
+        employeeService.getAllEmployees();
+
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("api.upstream.attempts")
+                        .tag("outcome", "rate_limited")
+                        .counter()
+                        .count());
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("api.upstream.attempts")
+                        .tag("outcome", "success")
+                        .counter()
+                        .count());
+        assertEquals(1, meterRegistry.get("api.upstream.backoff").timer().count());
+    }
+
+    @Test
+    public void testNotFoundIsNotRetried() {
+        when(restTemplate.getForObject(anyString(), eq(EmployeeResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", null, null, null));
+
+        Employee employee = employeeService.getEmployeeById("missing");
+
+        assertNull(employee);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(EmployeeResponse.class));
+    }
+
+    @Test
+    public void testOpenCircuitFailsFastWithoutCallingServer() {
+        when(restTemplate.getForObject(anyString(), eq(EmployeeResponse.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+        for (int i = 0; i < 5; i++) {
+            String id = String.valueOf(i);
+            assertThrows(ServiceUnavailableException.class, () -> employeeService.getEmployeeById(id));
+        }
+        verify(restTemplate, times(15)).getForObject(anyString(), eq(EmployeeResponse.class));
+
+        assertThrows(ServiceUnavailableException.class, () -> employeeService.getEmployeeById("5"));
+
+        verify(restTemplate, times(15)).getForObject(anyString(), eq(EmployeeResponse.class));
+        assertEquals(1.0, meterRegistry.get("api.upstream.rejected").counter().count());
+    }
+
+    @Test
+    public void testDeleteEmployeeTakesOneUpstreamCall() {
+        EmployeeResponse response = new EmployeeResponse();
+        response.setData(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"));
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/1"),
+                        eq(HttpMethod.DELETE),
+                        any(),
+                        eq(EmployeeResponse.class)))
+                .thenReturn(ResponseEntity.ok(response));
+
+        String deleted = employeeService.deleteEmployee("1");
+
+        assertEquals("John", deleted);
+        verify(restTemplate, never()).getForObject(anyString(), eq(EmployeeResponse.class));
+        verify(restTemplate, never()).exchange(eq(EMPLOYEES_URL), eq(HttpMethod.DELETE), any(), eq(String.class));
+    }
+
+    @Test
+    public void testDeleteEmployeeFallsBackToDeleteByName() {
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/1"),
+                        eq(HttpMethod.DELETE),
+                        any(),
+                        eq(EmployeeResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.METHOD_NOT_ALLOWED, "", null, null, null));
+        EmployeeResponse getResponse = new EmployeeResponse();
+        getResponse.setData(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"));
+        when(restTemplate.getForObject(eq("http://localhost:8112/api/v1/employee/1"), eq(EmployeeResponse.class)))
+                .thenReturn(getResponse);
+        when(restTemplate.exchange(eq(EMPLOYEES_URL), eq(HttpMethod.DELETE), any(), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("true"));
+
+        assertEquals("John", employeeService.deleteEmployee("1"));
+        assertEquals("John", employeeService.deleteEmployee("1"));
+
+        // The endpoint is only probed once
+        verify(restTemplate, times(1)).exchange(anyString(), eq(HttpMethod.DELETE), any(), eq(EmployeeResponse.class));
+        verify(restTemplate, times(2)).exchange(eq(EMPLOYEES_URL), eq(HttpMethod.DELETE), any(), eq(String.class));
+    }
+
+    @Test
+    public void testHighestSalaryUsesServerAggregate() {
+        HighestSalaryResponse response = new HighestSalaryResponse();
+        response.setData(70000);
+        when(restTemplate.getForObject(anyString(), eq(HighestSalaryResponse.class)))
+                .thenReturn(response);
+
+        Integer highestSalary = employeeService.getHighestSalary();
+
+        assertEquals(70000, highestSalary.intValue());
+        verifyRosterFetched(never());
+        verify(restTemplate, never()).getForObject(anyString(), eq(EmployeesResponse.class));
+    }
+
+    @Test
+    public void testTopTenHighestEarningEmployeeNames() {
+        List<Employee> mockEmployees = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            mockEmployees.add(new Employee(String.valueOf(i), "Employee " + i, i * 1000, 30, "Dev", "test@dummy.com"));
+        }
+        stubRoster(mockEmployees);
+
+        List<String> topEarners = employeeService.getTopTenHighestEarningEmployeeNames();
+
+        assertEquals(10, topEarners.size());
+        assertEquals("Employee 12", topEarners.get(0));
+        assertEquals("Employee 3", topEarners.get(9));
+    }
+
+    @Test
+    public void testStreamAllEmployeesReadsNdjson() {
+        String ndjson = "{\"id\":\"1\",\"employee_name\":\"John\",\"employee_salary\":50000}\n"
+                + "{\"id\":\"2\",\"employee_name\":\"Jane\",\"employee_salary\":60000,\"unknown\":true}\n";
+        when(restTemplate.execute(
+                        anyString(),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<Object>>any()))
+                .thenAnswer(invocation -> invocation
+                        .<ResponseExtractor<?>>getArgument(3)
+                        .extractData(
+                                new MockClientHttpResponse(ndjson.getBytes(StandardCharsets.UTF_8), HttpStatus.OK)));
+
+        Integer total = NetworkHandler.await(employeeService.streamAllEmployeesAsync(
+                employees -> employees.mapToInt(Employee::getSalary).sum()));
+
+        assertEquals(110000, total.intValue());
+        verifyRosterFetched(never());
+    }
+
+    @Test
+    public void testTopEarnersAreScannedWithoutBindingRoster() {
+        stubRoster(Arrays.asList(
+                new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"),
+                new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com"),
+                new Employee("3", "Jim", 60000, 41, "Dev", "test@dummy.com")));
+        when(restTemplate.getForObject(contains("/stats/"), eq(EmployeesResponse.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "", null, null, null));
+
+        List<String> topEarners = employeeService.getTopTenHighestEarningEmployeeNames();
+
+        assertEquals(List.of("Jane", "Jim", "John"), topEarners);
+        verify(restTemplate, times(1))
+                .execute(
+                        anyString(),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<Object>>any());
+        verifyRosterFetched(never());
+    }
+
+    /*
+     * Serves the roster as a bound response, as a server-side aggregate and as raw JSON for the streaming scan
+     */
+    private void stubRoster(List<Employee> employees) {
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(employees);
+        whenRosterFetched().thenReturn(ResponseEntity.ok(response));
+        when(restTemplate.getForObject(anyString(), eq(EmployeesResponse.class)))
+                .thenReturn(response);
+        when(restTemplate.execute(
+                        anyString(),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<Object>>any()))
+                .thenAnswer(invocation -> invocation
+                        .<ResponseExtractor<?>>getArgument(3)
+                        .extractData(new MockClientHttpResponse(
+                                new ObjectMapper().writeValueAsBytes(response), HttpStatus.OK)));
+    }
+
+    private OngoingStubbing<ResponseEntity<EmployeesResponse>> whenRosterFetched() {
+        return when(restTemplate.exchange(
+                eq(EMPLOYEES_URL), eq(HttpMethod.GET), any(HttpEntity.class), eq(EmployeesResponse.class)));
+    }
+
+    private void verifyRosterFetched(VerificationMode mode) {
+        verify(restTemplate, mode)
+                .exchange(eq(EMPLOYEES_URL), eq(HttpMethod.GET), any(HttpEntity.class), eq(EmployeesResponse.class));
+    }
 }
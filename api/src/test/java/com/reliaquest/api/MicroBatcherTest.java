@@ -0,0 +1,82 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.web.MicroBatcher;
+import com.reliaquest.api.web.NetworkHandler;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+public class MicroBatcherTest {
+
+    private final List<List<String>> flushed = new CopyOnWriteArrayList<>();
+
+    private final Function<List<String>, List<CompletableFuture<String>>> upperCase = inputs -> {
+        flushed.add(List.copyOf(inputs));
+        return inputs.stream()
+                .map(input -> CompletableFuture.completedFuture(input.toUpperCase()))
+                .toList();
+    };
+
+    @Test
+    public void testItemsWithinWindowShareOneFlush() {
+        MicroBatcher microBatcher = new MicroBatcher(Duration.ofMillis(50), 100);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (String name : List.of("john", "jane", "alex")) {
+            results.add(microBatcher.submitAsync("create", name, upperCase));
+        }
+
+        assertEquals(
+                List.of("JOHN", "JANE", "ALEX"),
+                results.stream().map(CompletableFuture::join).toList());
+        assertEquals(List.of(List.of("john", "jane", "alex")), flushed);
+        assertEquals(1, microBatcher.getBatchCount());
+        assertEquals(3, microBatcher.getItemCount());
+    }
+
+    @Test
+    public void testFullBatchIsFlushedWithoutWaitingForWindow() {
+        MicroBatcher microBatcher = new MicroBatcher(Duration.ofMinutes(1), 2);
+
+        CompletableFuture<String> first = microBatcher.submitAsync("create", "john", upperCase);
+        CompletableFuture<String> second = microBatcher.submitAsync("create", "jane", upperCase);
+
+        assertEquals("JOHN", first.join());
+        assertEquals("JANE", second.join());
+        assertEquals(List.of(List.of("john", "jane")), flushed);
+    }
+
+    @Test
+    public void testZeroWindowFlushesEachItem() {
+        MicroBatcher microBatcher = new MicroBatcher(Duration.ZERO, 100);
+
+        microBatcher.submitAsync("create", "john", upperCase).join();
+        microBatcher.submitAsync("create", "jane", upperCase).join();
+
+        assertEquals(List.of(List.of("john"), List.of("jane")), flushed);
+    }
+
+    @Test
+    public void testEachCallerReceivesItsOwnFailure() {
+        MicroBatcher microBatcher = new MicroBatcher(Duration.ofMillis(50), 100);
+        Function<List<String>, List<CompletableFuture<String>>> flush = inputs -> inputs.stream()
+                .map(input -> input.isEmpty()
+                        ? CompletableFuture.<String>failedFuture(new ServiceUnavailableException("rejected"))
+                        : CompletableFuture.completedFuture(input))
+                .toList();
+
+        CompletableFuture<String> good = microBatcher.submitAsync("create", "john", flush);
+        CompletableFuture<String> bad = microBatcher.submitAsync("create", "", flush);
+
+        assertEquals("john", good.join());
+        assertThrows(ServiceUnavailableException.class, () -> NetworkHandler.await(bad));
+    }
+}
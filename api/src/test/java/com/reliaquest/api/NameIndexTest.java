@@ -0,0 +1,71 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.NameIndex;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class NameIndexTest {
+
+    private final Employee john = employee("1", "John Doe");
+    private final Employee jane = employee("2", "Jane Johnson");
+    private final Employee strauss = employee("3", "Anna Straße");
+
+    @Test
+    public void testSubstringSearchIgnoresCase() {
+        NameIndex index = new NameIndex(List.of(john, jane, strauss));
+
+        assertEquals(List.of(john, jane), index.search("JOHN"));
+        assertEquals(List.of(jane), index.search("e joh"));
+        assertEquals(List.of(), index.search("johnny"));
+    }
+
+    @Test
+    public void testShortQueriesAreMatched() {
+        NameIndex index = new NameIndex(List.of(john, jane, strauss));
+
+        assertEquals(List.of(john, jane), index.search("j"));
+        assertEquals(List.of(john, jane, strauss), index.search(""));
+    }
+
+    @Test
+    public void testUnicodeCaseFolding() {
+        NameIndex index = new NameIndex(List.of(john, jane, strauss));
+
+        assertEquals(List.of(strauss), index.search("STRASSE"));
+        assertEquals(List.of(strauss), index.search("straße"));
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        NameIndex index = new NameIndex(List.of(john, jane));
+        Employee renamed = employee("1", "Jonathan Doe");
+
+        index.remove("2");
+        index.add(renamed);
+
+        assertEquals(List.of(), index.search("jane"));
+        assertEquals(List.of(), index.search("john"));
+        assertEquals(List.of(renamed), index.search("jonath"));
+    }
+
+    @Test
+    public void testCompactionKeepsResults() {
+        NameIndex index = new NameIndex(List.of());
+        for (int i = 0; i < 3000; i++) {
+            index.add(employee(String.valueOf(i), "Employee " + i));
+        }
+        for (int i = 0; i < 2900; i++) {
+            index.remove(String.valueOf(i));
+        }
+
+        assertEquals(100, index.search("employee").size());
+        assertEquals(List.of(employee("2999", "Employee 2999")), index.search("ee 2999"));
+    }
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 50000, 30, "Dev", "test@dummy.com");
+    }
+}
@@ -0,0 +1,218 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import com.reliaquest.api.service.RosterCache;
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.CircuitBreaker;
+import com.reliaquest.api.web.ReactiveNetworkHandler;
+import com.reliaquest.api.web.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+public class ReactiveEmployeeServiceTest {
+
+    private static final String ROSTER =
+            """
+            {"id":"1","employee_name":"John","employee_salary":50000,"employee_age":30}
+            {"id":"2","employee_name":"Jane","employee_salary":90000,"employee_age":41}
+            {"id":"3","employee_name":"Alex","employee_salary":70000,"employee_age":25}
+            """;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+    private Function<ClientRequest, ClientResponse> server;
+    private RosterCache rosterCache;
+    private ReactiveEmployeeService employeeService;
+
+    @BeforeEach
+    public void setUp() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.computeIfAbsent(
+                                    request.method() + " " + request.url().getPath(), key -> new AtomicInteger())
+                            .incrementAndGet();
+                    return Mono.just(server.apply(request));
+                })
+                .build();
+        rosterCache = new RosterCache(Duration.ofSeconds(30), Duration.ZERO);
+        employeeService = new ReactiveEmployeeService(
+                webClient,
+                rosterCache,
+                new SingleFlight(),
+                new ReactiveNetworkHandler(
+                        new AdaptiveRateLimiter(true, Duration.ofMillis(10), Duration.ofMillis(40)),
+                        circuitBreaker,
+                        3,
+                        Duration.ofMillis(10),
+                        Duration.ofMillis(40),
+                        Duration.ofSeconds(5),
+                        meterRegistry));
+    }
+
+    @Test
+    public void testRosterIsDecodedFromStream() {
+        server = request -> request.url().getPath().endsWith("/stream") ? ndjson(ROSTER) : status(HttpStatus.NOT_FOUND);
+
+        List<Employee> employees = employeeService.getAllEmployees().block();
+        List<Employee> matches = employeeService.searchEmployeesByName("JA").block();
+
+        assertEquals(3, employees.size());
+        assertEquals("John", employees.get(0).getName());
+        assertEquals(1, matches.size());
+        assertEquals("Jane", matches.get(0).getName());
+        assertEquals(1, requestCount("GET /api/v1/employee/stream"));
+    }
+
+    @Test
+    public void testAggregatesAreFoldedFromStreamWithoutCachingRoster() {
+        server = request -> request.url().getPath().endsWith("/stream") ? ndjson(ROSTER) : status(HttpStatus.NOT_FOUND);
+
+        Integer highestSalary = employeeService.getHighestSalary().block();
+        List<String> topEarners =
+                employeeService.getTopTenHighestEarningEmployeeNames().block();
+
+        assertEquals(90000, highestSalary);
+        assertEquals(List.of("Jane", "Alex", "John"), topEarners);
+        assertNull(rosterCache.peek());
+    }
+
+    @Test
+    public void testRateLimitedCallIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        server = request -> attempts.incrementAndGet() == 1 ? status(HttpStatus.TOO_MANY_REQUESTS) : ndjson(ROSTER);
+
+        List<Employee> employees = employeeService.getAllEmployees().block();
+
+        assertEquals(3, employees.size());
+        assertEquals(2, requestCount("GET /api/v1/employee/stream"));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("api.upstream.attempts")
+                        .tag("outcome", "rate_limited")
+                        .counter()
+                        .count());
+        assertEquals(1, meterRegistry.get("api.upstream.backoff").timer().count());
+    }
+
+    @Test
+    public void testOpenCircuitRefusesCallsWithoutRequests() {
+        server = request -> status(HttpStatus.SERVICE_UNAVAILABLE);
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(
+                    ServiceUnavailableException.class,
+                    () -> employeeService.getAllEmployees().block());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(6, requestCount("GET /api/v1/employee/stream"));
+        assertEquals(1.0, meterRegistry.get("api.upstream.rejected").counter().count());
+    }
+
+    @Test
+    public void testUnknownEmployeeIsEmptyWithoutRetrying() {
+        server = request -> status(HttpStatus.NOT_FOUND);
+
+        assertNull(employeeService.getEmployeeById("missing").block());
+        assertNull(employeeService.deleteEmployee("missing").block());
+        assertEquals(1, requestCount("GET /api/v1/employee/missing"));
+        assertEquals(1, requestCount("DELETE /api/v1/employee/missing"));
+        assertEquals(0, requestCount("DELETE /api/v1/employee"));
+    }
+
+    @Test
+    public void testDeleteFallsBackToDeleteByName() {
+        server = request -> {
+            String path = request.url().getPath();
+            if (request.method() == HttpMethod.DELETE && path.endsWith("/1")) {
+                return status(HttpStatus.METHOD_NOT_ALLOWED);
+            }
+            if (request.method() == HttpMethod.GET && path.endsWith("/1")) {
+                return json(HttpStatus.OK, "{\"data\":{\"id\":\"1\",\"employee_name\":\"John\"}}");
+            }
+            return json(HttpStatus.OK, "{\"data\":true}");
+        };
+
+        assertEquals("John", employeeService.deleteEmployee("1").block());
+        assertEquals("John", employeeService.deleteEmployee("1").block());
+        assertEquals(1, requestCount("DELETE /api/v1/employee/1"));
+        assertEquals(2, requestCount("DELETE /api/v1/employee"));
+    }
+
+    @Test
+    public void testCreateAndDeleteUpdateCachedRoster() {
+        server = request -> {
+            String path = request.url().getPath();
+            if (path.endsWith("/stream")) {
+                return ndjson(ROSTER);
+            }
+            if (request.method() == HttpMethod.POST) {
+                return json(
+                        HttpStatus.OK, "{\"data\":{\"id\":\"4\",\"employee_name\":\"Sam\",\"employee_salary\":60000}}");
+            }
+            if (request.method() == HttpMethod.DELETE && path.endsWith("/1")) {
+                return json(HttpStatus.OK, "{\"data\":{\"id\":\"1\",\"employee_name\":\"John\"}}");
+            }
+            return status(HttpStatus.NOT_FOUND);
+        };
+        employeeService.getAllEmployees().block();
+
+        Employee created = employeeService
+                .createEmployee(new EmployeeInput("Sam", 60000, 30, "Dev"))
+                .block();
+        String deleted = employeeService.deleteEmployee("1").block();
+
+        assertEquals("4", created.getId());
+        assertEquals("John", deleted);
+        List<Employee> employees = employeeService.getAllEmployees().block();
+        assertEquals(
+                List.of("2", "3", "4"), employees.stream().map(Employee::getId).toList());
+        assertEquals(1, requestCount("GET /api/v1/employee/stream"));
+        assertEquals(0, requestCount("GET /api/v1/employee/1"));
+    }
+
+    private int requestCount(String request) {
+        AtomicInteger count = requests.get(request);
+        return count == null ? 0 : count.get();
+    }
+
+    private static ClientResponse ndjson(String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static ClientResponse json(HttpStatus status, String body) {
+        return ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+
+    private static ClientResponse status(HttpStatus status) {
+        return ClientResponse.create(status).build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.Roster;
+import com.reliaquest.api.service.RosterCache;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class RosterCacheTest {
+
+    private final List<Employee> roster = List.of(new Employee("1", "John", 50000, 30, "Dev", "test@dummy.com"));
+
+    @Test
+    public void testSnapshotIsReusedWithinTtl() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CompletableFuture<List<Employee>>> loader = () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(roster);
+        };
+
+        Roster first = cache.get(loader).join();
+        Roster second = cache.get(loader).join();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testInvalidateForcesReload() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CompletableFuture<List<Employee>>> loader = () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(roster);
+        };
+
+        cache.get(loader).join();
+        cache.invalidate();
+        cache.get(loader).join();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testRefreshAheadReloadsInBackground() {
+        // Refresh-ahead window covers the whole TTL, so every hit schedules a background reload
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CompletableFuture<List<Employee>>> loader = () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(roster);
+        };
+
+        cache.get(loader).join();
+        cache.get(loader).join();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testUpdateAppliesToSnapshotWithoutReload() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CompletableFuture<List<Employee>>> loader = () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(roster);
+        };
+        Employee jane = new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com");
+
+        cache.get(loader).join();
+        cache.update(snapshot -> snapshot.add(jane));
+        Roster updated = cache.get(loader).join();
+
+        assertEquals(1, loads.get());
+        assertEquals(2, updated.getEmployees().size());
+        assertEquals(List.of(jane), updated.search("JAN"));
+    }
+
+    @Test
+    public void testUpdateDuringLoadIsAppliedToLoadedRoster() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<List<Employee>> pending = new CompletableFuture<>();
+        Supplier<CompletableFuture<List<Employee>>> loader = () -> {
+            loads.incrementAndGet();
+            return loads.get() == 1 ? pending : CompletableFuture.completedFuture(roster);
+        };
+        Employee jane = new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com");
+
+        // Updates with no load in flight and no snapshot have nothing to apply to and leave later loads alone
+        cache.update(snapshot -> snapshot.remove("1"));
+        CompletableFuture<Roster> loading = cache.get(loader);
+        cache.update(snapshot -> snapshot.add(jane));
+        pending.complete(roster);
+
+        assertEquals(List.of(jane), loading.join().search("JAN"));
+        assertEquals(List.of(jane), cache.get(loader).join().search("JAN"));
+        assertEquals(2, cache.peek().getEmployees().size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testSynchronizerUpdatesSnapshotInPlace() {
+        // Refresh-ahead window covers the whole TTL, so every hit schedules a background refresh
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CompletableFuture<List<Employee>>> loader = () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(roster);
+        };
+        Employee jane = new Employee("2", "Jane", 60000, 28, "Manager", "test@dummy.com");
+        Function<Roster, CompletableFuture<Boolean>> synchronizer = snapshot -> {
+            snapshot.add(jane);
+            return CompletableFuture.completedFuture(true);
+        };
+
+        Roster first = cache.get(loader, synchronizer).join();
+        Roster second = cache.get(loader, synchronizer).join();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(List.of(jane), second.search("JAN"));
+    }
+
+    @Test
+    public void testSynchronizerThatCannotCatchUpReloads() {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<CompletableFuture<List<Employee>>> loader = () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture(roster);
+        };
+
+        cache.get(loader, snapshot -> CompletableFuture.completedFuture(false)).join();
+        cache.get(loader, snapshot -> CompletableFuture.completedFuture(false)).join();
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,140 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RosterSubscriber;
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.CircuitBreaker;
+import com.reliaquest.api.web.NetworkHandler;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.io.CloseMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class RosterSubscriberTest {
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final List<String> lastEventIds = new CopyOnWriteArrayList<>();
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofMinutes(1));
+    private final CloseableHttpClient httpClient = HttpClients.createDefault();
+    private HttpServer server;
+    private String body;
+    private RosterSubscriber rosterSubscriber;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/events", exchange -> {
+            String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+            lastEventIds.add(String.valueOf(lastEventId));
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        NetworkHandler networkHandler = new NetworkHandler(
+                new AdaptiveRateLimiter(false, Duration.ofSeconds(30), Duration.ofSeconds(120)),
+                circuitBreaker,
+                1,
+                Duration.ofMillis(10),
+                Duration.ofMillis(10),
+                Duration.ofSeconds(2),
+                2,
+                Optional.empty(),
+                new SimpleMeterRegistry());
+        rosterSubscriber = new RosterSubscriber(
+                employeeService,
+                networkHandler,
+                httpClient,
+                "http://localhost:" + server.getAddress().getPort() + "/events",
+                true,
+                Duration.ofSeconds(5),
+                Duration.ofMillis(50),
+                Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        rosterSubscriber.stop();
+        httpClient.close(CloseMode.IMMEDIATE);
+        server.stop(0);
+    }
+
+    @Test
+    public void testChangesAreAppliedAndStreamResumesFromLastEvent() {
+        when(employeeService.getRosterVersion()).thenReturn("e-1");
+        body =
+                """
+                : heartbeat
+
+                event: change
+                id: e-2
+                data: {"version":2,"type":"CREATED","employee":{"id":"2","employee_name":"Jane"}}
+
+                event: change
+                id: e-3
+                data: {"version":3,"type":"DELETED","employee":{"id":"1","employee_name":"John"}}
+
+                """;
+
+        rosterSubscriber.start();
+
+        ArgumentCaptor<EmployeeChange> changes = ArgumentCaptor.forClass(EmployeeChange.class);
+        verify(employeeService, timeout(2000)).applyRosterChange(eq("e-2"), changes.capture());
+        verify(employeeService, timeout(2000)).applyRosterChange(eq("e-3"), changes.capture());
+        assertEquals(EmployeeChange.Type.CREATED, changes.getAllValues().get(0).getType());
+        assertEquals("Jane", changes.getAllValues().get(0).getEmployee().getName());
+        assertEquals("1", changes.getAllValues().get(1).getEmployee().getId());
+        // The stream ended; the subscriber reconnected from the last event it received rather than the roster
+        verify(employeeService, timeout(2000).atLeast(2)).setRosterPushed(false);
+        rosterSubscriber.stop();
+        assertEquals("e-1", lastEventIds.get(0));
+        assertEquals("e-3", lastEventIds.get(1));
+    }
+
+    @Test
+    public void testResyncDropsCachedRoster() {
+        body = """
+                event: resync
+                id: f-0
+                data: f-0
+
+                """;
+
+        rosterSubscriber.start();
+
+        verify(employeeService, timeout(2000)).resyncRoster();
+        verify(employeeService, never()).applyRosterChange(any(), any());
+    }
+
+    @Test
+    public void testNoConnectionWhileCircuitIsOpen() {
+        circuitBreaker.onFailure(CircuitBreaker.Permission.CALL);
+        body = "";
+
+        rosterSubscriber.start();
+
+        verify(employeeService, timeout(2000).atLeast(2)).setRosterPushed(false);
+        verify(employeeService, never()).setRosterPushed(true);
+        assertEquals(List.of(), lastEventIds);
+    }
+}
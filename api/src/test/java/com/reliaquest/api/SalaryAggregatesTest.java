@@ -0,0 +1,54 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.reliaquest.api.service.SalaryAggregates;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class SalaryAggregatesTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    public void testHighestSalaryAndTopEarners() throws IOException {
+        String employees = IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> "{\"id\":\"" + i + "\",\"employee_salary\":" + (i * 7 % 50) * 1000
+                        + ",\"employee_name\":\"Employee " + i + "\",\"employee_age\":30}")
+                .collect(Collectors.joining(",", "[", "]"));
+
+        SalaryAggregates aggregates = read("{\"status\":\"ok\",\"data\":" + employees + "}", 3);
+
+        assertEquals(49000, aggregates.getHighestSalary());
+        assertEquals(List.of("Employee 7", "Employee 14", "Employee 21"), aggregates.getTopEarnerNames());
+    }
+
+    @Test
+    public void testTiesKeepRosterOrderAndUnknownFieldsAreSkipped() throws IOException {
+        SalaryAggregates aggregates = read(
+                "{\"data\":[{\"employee_name\":\"A\",\"employee_salary\":10,\"extra\":{\"x\":[1,2]}},"
+                        + "{\"employee_name\":\"B\",\"employee_salary\":20},"
+                        + "{\"employee_salary\":20,\"employee_name\":\"C\"},"
+                        + "{\"employee_name\":\"D\"}],\"status\":\"ok\"}",
+                2);
+
+        assertEquals(20, aggregates.getHighestSalary());
+        assertEquals(List.of("B", "C"), aggregates.getTopEarnerNames());
+    }
+
+    @Test
+    public void testEmptyRoster() throws IOException {
+        SalaryAggregates aggregates = read("{\"data\":[]}", 10);
+
+        assertEquals(0, aggregates.getHighestSalary());
+        assertEquals(List.of(), aggregates.getTopEarnerNames());
+    }
+
+    private SalaryAggregates read(String json, int limit) throws IOException {
+        return SalaryAggregates.read(jsonFactory.createParser(json), limit);
+    }
+}
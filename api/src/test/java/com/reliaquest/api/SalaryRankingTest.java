@@ -0,0 +1,49 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.SalaryRanking;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class SalaryRankingTest {
+
+    private final Employee john = employee("1", "John", 50000);
+    private final Employee jane = employee("2", "Jane", 60000);
+    private final Employee jim = employee("3", "Jim", 60000);
+
+    @Test
+    public void testTopEarnersForAnyLimit() {
+        SalaryRanking ranking = new SalaryRanking(List.of(john, jane, jim, employee("4", "Unpaid", null)));
+
+        assertEquals(60000, ranking.highestSalary());
+        assertEquals(List.of(jane), ranking.topEarners(1));
+        assertEquals(List.of(jane, jim, john), ranking.topEarners(10));
+        assertEquals(List.of(), ranking.topEarners(0));
+    }
+
+    @Test
+    public void testIncrementalUpdates() {
+        SalaryRanking ranking = new SalaryRanking(List.of(john, jane, jim));
+        Employee raised = employee("1", "John", 70000);
+
+        ranking.remove("2");
+        ranking.add(raised);
+
+        assertEquals(70000, ranking.highestSalary());
+        assertEquals(List.of(raised, jim), ranking.topEarners(10));
+    }
+
+    @Test
+    public void testEmptyRanking() {
+        SalaryRanking ranking = new SalaryRanking(List.of());
+
+        assertEquals(0, ranking.highestSalary());
+        assertEquals(List.of(), ranking.topEarners(10));
+    }
+
+    private static Employee employee(String id, String name, Integer salary) {
+        return new Employee(id, name, salary, 30, "Dev", "test@dummy.com");
+    }
+}
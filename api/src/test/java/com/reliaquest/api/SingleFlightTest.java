@@ -0,0 +1,106 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.ServiceUnavailableException;
+import com.reliaquest.api.web.NetworkHandler;
+import com.reliaquest.api.web.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    @Test
+    public void testConcurrentCallersShareOneCall() {
+        int callers = 8;
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger invocations = new AtomicInteger();
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(singleFlight.callAsync("employees", () -> {
+                invocations.incrementAndGet();
+                return upstream;
+            }));
+        }
+        assertFalse(results.stream().anyMatch(CompletableFuture::isDone));
+        upstream.complete("roster");
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("roster", result.join());
+        }
+        assertEquals(1, invocations.get());
+        assertEquals(1, singleFlight.getExecutedCount());
+        assertEquals(callers - 1, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    public void testCountersArePublished() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        singleFlight.callAsync("employees", () -> upstream);
+        singleFlight.callAsync("employees", () -> upstream);
+        singleFlight.callAsync("employees", () -> upstream);
+
+        assertEquals(
+                1, registry.get("api.singleflight.executed").functionCounter().count());
+        assertEquals(
+                2, registry.get("api.singleflight.coalesced").functionCounter().count());
+    }
+
+    @Test
+    public void testFailureIsSharedAndNotCached() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> leader = singleFlight.callAsync("employees", () -> upstream);
+        CompletableFuture<String> follower = singleFlight.callAsync("employees", CompletableFuture::new);
+
+        upstream.completeExceptionally(new ServiceUnavailableException("The server is not available."));
+
+        assertThrows(ServiceUnavailableException.class, () -> NetworkHandler.await(leader));
+        assertThrows(ServiceUnavailableException.class, () -> NetworkHandler.await(follower));
+        assertEquals(
+                "roster",
+                singleFlight
+                        .callAsync("employees", () -> CompletableFuture.completedFuture("roster"))
+                        .join());
+        assertEquals(2, singleFlight.getExecutedCount());
+    }
+
+    @Test
+    public void testCallMadeOnCompletionStartsAfresh() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> retry = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<String>> next = new AtomicReference<>();
+        singleFlight
+                .callAsync("employees", () -> upstream)
+                .whenComplete((result, error) -> next.set(singleFlight.callAsync("employees", () -> retry)));
+
+        upstream.completeExceptionally(new IllegalStateException("Service down"));
+
+        assertFalse(next.get().isDone());
+        assertEquals(2, singleFlight.getExecutedCount());
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+
+    @Test
+    public void testDifferentKeysAreNotCoalesced() {
+        CompletableFuture<String> first = singleFlight.callAsync("employee:1", CompletableFuture::new);
+        CompletableFuture<String> second = singleFlight.callAsync("employee:2", CompletableFuture::new);
+
+        assertTrue(first != second);
+        assertEquals(2, singleFlight.getExecutedCount());
+        assertEquals(0, singleFlight.getCoalescedCount());
+    }
+}
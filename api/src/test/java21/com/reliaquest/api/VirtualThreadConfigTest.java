@@ -0,0 +1,46 @@
+package com.reliaquest.api;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.config.VirtualThreadConfig;
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.AdaptiveRateLimiter.Priority;
+import com.reliaquest.api.web.CircuitBreaker;
+import com.reliaquest.api.web.NetworkHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+public class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner().withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    public void testUpstreamWorkersOnlyWithVirtualThreadsEnabled() {
+        contextRunner.run(context -> assertFalse(context.containsBean("upstreamWorkers")));
+        contextRunner
+                .withPropertyValues("spring.threads.virtual.enabled=true")
+                .run(context -> assertTrue(context.containsBean("upstreamWorkers")));
+    }
+
+    @Test
+    public void testUpstreamAttemptsRunOnVirtualThreads() {
+        NetworkHandler networkHandler = new NetworkHandler(
+                new AdaptiveRateLimiter(false, Duration.ofSeconds(30), Duration.ofSeconds(120)),
+                new CircuitBreaker(5, Duration.ofSeconds(10)),
+                3,
+                Duration.ofMillis(10),
+                Duration.ofMillis(40),
+                Duration.ofSeconds(5),
+                4,
+                Optional.of(new VirtualThreadConfig().upstreamWorkers()),
+                new SimpleMeterRegistry());
+
+        assertTrue(NetworkHandler.await(networkHandler.callAsync(
+                Priority.NORMAL, () -> Thread.currentThread().isVirtual())));
+    }
+}
@@ -0,0 +1,118 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.RosterCache;
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.CircuitBreaker;
+import com.reliaquest.api.web.MicroBatcher;
+import com.reliaquest.api.web.NetworkHandler;
+import com.reliaquest.api.web.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Read endpoints served from the cached roster, against the linear scans they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int employees;
+
+    @Param({"son", "an"})
+    private String searchString;
+
+    private EmployeeService employeeService;
+    private List<Employee> roster;
+
+    @Setup
+    public void setUp() {
+        EmployeesResponse response = new EmployeesResponse();
+        response.setData(Rosters.employees(employees));
+        // Only the roster is ever fetched, so no request leaves the JVM
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            public <T> ResponseEntity<T> exchange(
+                    String url,
+                    HttpMethod method,
+                    HttpEntity<?> requestEntity,
+                    Class<T> responseType,
+                    Object... uriVariables) {
+                return ResponseEntity.ok(responseType == EmployeesResponse.class ? responseType.cast(response) : null);
+            }
+        };
+        employeeService = new EmployeeService(
+                restTemplate,
+                new RosterCache(Duration.ofDays(1), Duration.ZERO),
+                new SingleFlight(),
+                new NetworkHandler(
+                        new AdaptiveRateLimiter(false, Duration.ofSeconds(30), Duration.ofSeconds(120)),
+                        new CircuitBreaker(5, Duration.ofSeconds(10)),
+                        3,
+                        Duration.ofSeconds(1),
+                        Duration.ofSeconds(4),
+                        Duration.ofSeconds(10),
+                        4,
+                        Optional.empty(),
+                        new SimpleMeterRegistry()),
+                new MicroBatcher(Duration.ZERO, 1));
+        roster = employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public List<Employee> searchEmployeesByName() {
+        return employeeService.searchEmployeesByName(searchString);
+    }
+
+    @Benchmark
+    public List<Employee> searchLinearScanBaseline() {
+        return roster.stream()
+                .filter(employee -> employee.getName().toLowerCase().contains(searchString.toLowerCase()))
+                .toList();
+    }
+
+    @Benchmark
+    public Integer getHighestSalary() {
+        return employeeService.getHighestSalary();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public List<String> topTenFullSortBaseline() {
+        return roster.stream()
+                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
+                .limit(10)
+                .map(Employee::getName)
+                .toList();
+    }
+}
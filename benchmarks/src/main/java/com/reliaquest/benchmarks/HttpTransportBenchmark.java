@@ -0,0 +1,85 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.AppConfig;
+import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.server.model.Response;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Roster fetches over loopback HTTP through the pooled keep-alive transport against
+ * {@link SimpleClientHttpRequestFactory}. Sample mode reports the latency percentiles, p99 included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+public class HttpTransportBenchmark {
+
+    private HttpServer server;
+    private CloseableHttpClient httpClient;
+    private RestTemplate pooled;
+    private RestTemplate simple;
+    private String url;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] body = new ObjectMapper().writeValueAsBytes(Response.handledWith(Rosters.mockEmployees(50)));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/employee", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/api/v1/employee";
+
+        AppConfig appConfig = new AppConfig();
+        httpClient = appConfig.httpClient(
+                50, Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofSeconds(30));
+        pooled = appConfig.restTemplate(httpClient, new SimpleMeterRegistry());
+        simple = new RestTemplate(new SimpleClientHttpRequestFactory());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Benchmark
+    public EmployeesResponse pooledKeepAlive() {
+        return pooled.getForObject(url, EmployeesResponse.class);
+    }
+
+    @Benchmark
+    public EmployeesResponse simpleClientHttpRequestFactoryBaseline() {
+        return simple.getForObject(url, EmployeesResponse.class);
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeesResponse;
+import com.reliaquest.api.service.SalaryAggregates;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The roster's JSON round trip: the server serialising {@code Response<List<MockEmployee>>} through its prefix
+ * naming strategy, and the API binding it to {@link EmployeesResponse} or scanning it for salary aggregates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JacksonBenchmark {
+
+    @Param({"1000", "100000"})
+    private int employees;
+
+    // Configured like the ObjectMapper Spring MVC and RestTemplate use
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Response<List<MockEmployee>> response;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        response = Response.handledWith(Rosters.mockEmployees(employees));
+        json = objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serialiseMockEmployees() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public EmployeesResponse deserialiseEmployeesResponse() throws IOException {
+        return objectMapper.readValue(json, EmployeesResponse.class);
+    }
+
+    @Benchmark
+    public SalaryAggregates scanSalaryAggregates() throws IOException {
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            return SalaryAggregates.read(parser, 10);
+        }
+    }
+}
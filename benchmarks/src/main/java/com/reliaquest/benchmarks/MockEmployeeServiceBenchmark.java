@@ -0,0 +1,86 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.ColumnarMockEmployeeStore;
+import com.reliaquest.server.service.IndexedMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups and mutations on the mock server's store at several roster sizes, for each storage engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int employees;
+
+    @Param({"OBJECTS", "COLUMNAR"})
+    private MockEmployeeStore.Engine storage;
+
+    private final AtomicLong created = new AtomicLong();
+    private MockEmployeeService mockEmployeeService;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        List<MockEmployee> mockEmployees = Rosters.mockEmployees(employees);
+        MockEmployeeStore store =
+                switch (storage) {
+                    case OBJECTS -> new IndexedMockEmployeeStore(mockEmployees);
+                    case COLUMNAR -> new ColumnarMockEmployeeStore(mockEmployees);
+                };
+        mockEmployeeService = new MockEmployeeService(
+                new Faker(Locale.US), store, Optional.empty(), new MockEmployeeChangeLog(10_000));
+        ids = mockEmployees.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    /*
+     * Paired so the roster keeps its size across iterations
+     */
+    @Benchmark
+    public boolean createAndDelete() {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName("Benchmark Employee " + created.incrementAndGet());
+        input.setSalary(100000);
+        input.setAge(30);
+        input.setTitle("Benchmark");
+        mockEmployeeService.create(input);
+
+        DeleteMockEmployeeInput delete = new DeleteMockEmployeeInput();
+        delete.setName(input.getName());
+        return mockEmployeeService.delete(delete);
+    }
+}
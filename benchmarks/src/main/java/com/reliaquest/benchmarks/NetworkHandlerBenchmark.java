@@ -0,0 +1,74 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.AdaptiveRateLimiter.Priority;
+import com.reliaquest.api.web.CircuitBreaker;
+import com.reliaquest.api.web.NetworkHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * What NetworkHandler adds to a call that succeeds at once: deadline timer, worker hand-off and,
+ * when enabled, a rate limiter permit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class NetworkHandlerBenchmark {
+
+    private final Callable<String> call = () -> "ok";
+    private NetworkHandler networkHandler;
+    private NetworkHandler rateLimitedNetworkHandler;
+
+    @Setup
+    public void setUp() {
+        networkHandler = networkHandler(false);
+        rateLimitedNetworkHandler = networkHandler(true);
+    }
+
+    @Benchmark
+    public String directCallBaseline() throws Exception {
+        return call.call();
+    }
+
+    @Benchmark
+    public String callAsync() {
+        return NetworkHandler.await(networkHandler.callAsync(Priority.NORMAL, call));
+    }
+
+    @Benchmark
+    public String callAsyncWithRateLimiter() {
+        return NetworkHandler.await(rateLimitedNetworkHandler.callAsync(Priority.NORMAL, call));
+    }
+
+    private static NetworkHandler networkHandler(boolean rateLimited) {
+        return new NetworkHandler(
+                new AdaptiveRateLimiter(rateLimited, Duration.ofSeconds(30), Duration.ofSeconds(120)),
+                new CircuitBreaker(5, Duration.ofSeconds(10)),
+                3,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(4),
+                Duration.ofSeconds(10),
+                8,
+                Optional.empty(),
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Seeded rosters, so every benchmark run measures the same data.
+ */
+final class Rosters {
+
+    static final long SEED = 42;
+
+    private Rosters() {}
+
+    static List<MockEmployee> mockEmployees(int count) {
+        return new MockEmployeeGenerator(Locale.US, SEED).generate(count);
+    }
+
+    static List<Employee> employees(int count) {
+        return mockEmployees(count).stream()
+                .map(mockEmployee -> new Employee(
+                        mockEmployee.getId().toString(),
+                        mockEmployee.getName(),
+                        mockEmployee.getSalary(),
+                        mockEmployee.getAge(),
+                        mockEmployee.getTitle(),
+                        mockEmployee.getEmail()))
+                .toList();
+    }
+}
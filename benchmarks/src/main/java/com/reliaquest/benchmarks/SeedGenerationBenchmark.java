@@ -0,0 +1,35 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.service.IndexedMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The mock server's startup cost: generating the seed roster and indexing it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class SeedGenerationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int employees;
+
+    @Benchmark
+    public MockEmployeeStore startup() {
+        return new IndexedMockEmployeeStore(Rosters.mockEmployees(employees));
+    }
+}
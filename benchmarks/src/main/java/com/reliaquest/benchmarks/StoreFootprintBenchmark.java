@@ -0,0 +1,75 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.ColumnarMockEmployeeStore;
+import com.reliaquest.server.service.IndexedMockEmployeeStore;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Heap retained by a roster in each layout: a plain {@code ArrayList<MockEmployee>}, the indexed object store and
+ * the columnar store. The figure is the used heap after full collections, reported as the {@code retainedBytes}
+ * secondary result; the time is only the cost of building the layout.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(
+        value = 1,
+        jvmArgsAppend = {"-Xmx4g", "-XX:+UseParallelGC"})
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StoreFootprintBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int employees;
+
+    @Param({"ARRAY_LIST", "OBJECTS", "COLUMNAR"})
+    private String layout;
+
+    private Object retained;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Benchmark
+    public Object build(Footprint footprint) {
+        retained = null;
+        long before = usedHeapAfterGc();
+        retained = layout(Rosters.mockEmployees(employees));
+        footprint.retainedBytes = usedHeapAfterGc() - before;
+        return retained;
+    }
+
+    private Object layout(List<MockEmployee> mockEmployees) {
+        return switch (layout) {
+            case "ARRAY_LIST" -> new ArrayList<>(mockEmployees);
+            case "OBJECTS" -> new IndexedMockEmployeeStore(mockEmployees);
+            case "COLUMNAR" -> new ColumnarMockEmployeeStore(mockEmployees);
+            default -> throw new IllegalArgumentException("Unknown layout: " + layout);
+        };
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
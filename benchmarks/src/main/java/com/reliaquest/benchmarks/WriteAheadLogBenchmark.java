@@ -0,0 +1,67 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.WriteAheadLog;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Durable appends per second. A lone writer pays for an fsync per record; concurrent writers share one
+ * through group commit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WriteAheadLogBenchmark {
+
+    private final MockEmployee mockEmployee = Rosters.mockEmployees(1).get(0);
+    private Path directory;
+    private WriteAheadLog writeAheadLog;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("wal-benchmark");
+        writeAheadLog = new WriteAheadLog(directory, 0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writeAheadLog.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long singleWriter() {
+        return writeAheadLog.appendCreate(mockEmployee).join();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long groupCommit() {
+        return writeAheadLog.appendCreate(mockEmployee).join();
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.benchmarks.load;
+
+/**
+ * The seven {@code IEmployeeController} endpoints, with their default share of the request mix.
+ */
+enum Endpoint {
+    GET_ALL("GET /", 15),
+    SEARCH("GET /search/{searchString}", 25),
+    GET_BY_ID("GET /{id}", 20),
+    HIGHEST_SALARY("GET /highestSalary", 10),
+    TOP_TEN("GET /topTenHighestEarningEmployeeNames", 10),
+    CREATE("POST /", 10),
+    DELETE("DELETE /{id}", 10);
+
+    private final String route;
+    private final int defaultWeight;
+
+    Endpoint(String route, int defaultWeight) {
+        this.route = route;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String getRoute() {
+        return route;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+}
@@ -0,0 +1,405 @@
+package com.reliaquest.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.server.ServerApplication;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import io.micrometer.core.instrument.LongTaskTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.http.HttpStatus;
+
+/**
+ * End-to-end load test of the Employee API against the mock server, both started in this JVM.
+ *
+ * Requests arrive at a fixed rate whether or not earlier ones have completed (an open model), and each latency is
+ * measured from when its request was due rather than when it was sent, so a stalled API shows up as latency
+ * instead of silently lowering the request rate. Reports HDR latency percentiles, error and 429 rates per
+ * endpoint, and upstream amplification: mock server calls per API call.
+ *
+ * Options, e.g. {@code gradle :benchmarks:loadTest -PloadTestArgs="--rate=200 --duration=60s"}:
+ * <ul>
+ *   <li>{@code --rate} requests per second, default 100</li>
+ *   <li>{@code --duration} measured run, default 30s, after {@code --warmup}, default 10s</li>
+ *   <li>{@code --timeout} per request, default 30s</li>
+ *   <li>{@code --mix} endpoint weights, e.g. {@code SEARCH:50,GET_BY_ID:50}; see {@link Endpoint}</li>
+ *   <li>{@code --output} directory for the full {@code .hgrm} histograms, default build/results/load</li>
+ * </ul>
+ * Any other option is passed to both applications, so {@code --mock.employees.max}, {@code --mock.storage},
+ * {@code --mock.rate-limit.enabled} and {@code --api.*} configure the roster size, storage and rate limiting.
+ *
+ * To compare thread modes during a 429 lockout, turn off the API's own rate limiter and, in effect, its circuit
+ * breaker so that every request waits out its retries, e.g. {@code --rate=300 --warmup=2s --duration=15s
+ * --mix=GET_BY_ID:1 --api.rate-limit.enabled=false --api.circuit-breaker.failure-threshold=1000000}, then repeat
+ * with {@code gradle -PjavaVersion=21 ...} and {@code --spring.threads.virtual.enabled=true}. The peak number of
+ * requests being handled by the API shows how many stay in flight: capped by Tomcat's worker pool on platform
+ * threads, bounded only by the load on virtual threads.
+ */
+public final class LoadGenerator {
+
+    // EmployeeService always calls the mock server on its default port
+    private static final int SERVER_PORT = 8112;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final Duration timeout;
+    private final Endpoint[] mix;
+    private final List<String> ids;
+    private final List<String> searchStrings;
+    private final Queue<String> created = new ConcurrentLinkedQueue<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private Map<Endpoint, EndpointStats> stats;
+    private final MeterRegistry apiMeterRegistry;
+    private final AtomicLong peakHandling = new AtomicLong();
+    private int peakOutstanding;
+
+    private LoadGenerator(
+            URI baseUri, Duration timeout, Endpoint[] mix, List<MockEmployee> roster, MeterRegistry apiMeterRegistry) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.mix = mix;
+        this.apiMeterRegistry = apiMeterRegistry;
+        this.ids = roster.stream()
+                .map(mockEmployee -> mockEmployee.getId().toString())
+                .toList();
+        this.searchStrings = roster.stream()
+                .map(MockEmployee::getName)
+                .filter(name -> name != null && name.length() >= 3)
+                .map(name -> name.substring(name.length() - 3).toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+    }
+
+    public static void main(String[] args) throws IOException {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        int rate = Integer.parseInt(option(options, "rate", "100"));
+        Duration warmup = DurationStyle.detectAndParse(option(options, "warmup", "10s"));
+        Duration duration = DurationStyle.detectAndParse(option(options, "duration", "30s"));
+        Duration timeout = DurationStyle.detectAndParse(option(options, "timeout", "30s"));
+        Endpoint[] mix = mix(options.getProperty("mix"));
+        Path output = Path.of(option(options, "output", "build/results/load"));
+
+        UpstreamCounter upstream = new UpstreamCounter();
+        try (ConfigurableApplicationContext server = startServer(upstream, args);
+                ConfigurableApplicationContext api = startApi(args)) {
+            int apiPort = ((WebServerApplicationContext) api).getWebServer().getPort();
+            LoadGenerator generator = new LoadGenerator(
+                    URI.create("http://localhost:" + apiPort + "/api/v1/employee"),
+                    timeout,
+                    mix,
+                    server.getBean(MockEmployeeStore.class).snapshot(),
+                    api.getBean(MeterRegistry.class));
+
+            System.out.printf("Warming up for %s at %d requests/s%n", warmup, rate);
+            generator.run(rate, warmup);
+            upstream.reset();
+            System.out.printf("Measuring for %s at %d requests/s%n", duration, rate);
+            generator.run(rate, duration);
+            generator.report(System.out, duration, upstream, output);
+        }
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
+
+    /*
+     * Both modules ship an application.yml and only one would be found on the shared classpath, so neither is read;
+     * the properties each application depends on are set here instead. Per-request logging is silenced so that it
+     * does not skew the measurements.
+     */
+    private static ConfigurableApplicationContext startServer(UpstreamCounter upstream, String[] args) {
+        return new SpringApplicationBuilder(ServerApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "spring.config.name=load-test",
+                        "logging.level.com.reliaquest=OFF",
+                        "server.port=" + SERVER_PORT,
+                        "server.compression.enabled=true",
+                        "mock.employees.max=1000",
+                        "mock.employees.seed=42")
+                .initializers(context -> context.getBeanFactory().registerSingleton("upstreamCounter", upstream))
+                .run(args);
+    }
+
+    private static ConfigurableApplicationContext startApi(String[] args) {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("spring.config.name=load-test", "logging.level.com.reliaquest=OFF", "server.port=0")
+                .run(args);
+    }
+
+    private static Endpoint[] mix(String weights) {
+        Map<Endpoint, Integer> byEndpoint = new EnumMap<>(Endpoint.class);
+        if (weights == null) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                byEndpoint.put(endpoint, endpoint.getDefaultWeight());
+            }
+        } else {
+            for (String weight : weights.split(",")) {
+                String[] parts = weight.split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected ENDPOINT:weight but got " + weight);
+                }
+                byEndpoint.put(Endpoint.valueOf(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+        }
+        // One slot per unit of weight, so picking an endpoint is a single random index
+        List<Endpoint> slots = new ArrayList<>();
+        byEndpoint.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        });
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("The request mix is empty");
+        }
+        return slots.toArray(Endpoint[]::new);
+    }
+
+    private void run(int rate, Duration duration) {
+        stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        peakOutstanding = 0;
+        peakHandling.set(0);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(
+                () -> peakHandling.accumulateAndGet(handling(), Math::max), 0, 50, TimeUnit.MILLISECONDS);
+
+        List<CompletableFuture<?>> requests = new ArrayList<>();
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long intended = start; intended < end; intended += interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            requests.add(send(mix[random.nextInt(mix.length)], intended));
+        }
+        CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new)).join();
+        sampler.shutdownNow();
+    }
+
+    /*
+     * Requests the API is handling right now, as opposed to waiting in Tomcat's queue for a worker thread.
+     */
+    private long handling() {
+        return apiMeterRegistry.find("http.server.requests.active").longTaskTimers().stream()
+                .mapToLong(LongTaskTimer::activeTasks)
+                .sum();
+    }
+
+    private CompletableFuture<?> send(Endpoint endpoint, long intended) {
+        EndpointStats endpointStats = stats.get(endpoint);
+        peakOutstanding = Math.max(peakOutstanding, outstanding.incrementAndGet());
+        return httpClient
+                .sendAsync(request(endpoint), HttpResponse.BodyHandlers.ofString())
+                .handle((response, failure) -> {
+                    outstanding.decrementAndGet();
+                    endpointStats.record(System.nanoTime() - intended, response, failure);
+                    if (endpoint == Endpoint.CREATE && response != null && response.statusCode() == 201) {
+                        rememberCreated(response.body());
+                    }
+                    return null;
+                });
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(timeout);
+        return switch (endpoint) {
+            case GET_ALL -> builder.uri(baseUri).GET().build();
+            case SEARCH -> builder.uri(
+                            resolve("/search/" + URLEncoder.encode(randomOf(searchStrings), StandardCharsets.UTF_8)))
+                    .GET()
+                    .build();
+            case GET_BY_ID -> builder.uri(resolve("/" + randomOf(ids))).GET().build();
+            case HIGHEST_SALARY -> builder.uri(resolve("/highestSalary")).GET().build();
+            case TOP_TEN -> builder.uri(resolve("/topTenHighestEarningEmployeeNames"))
+                    .GET()
+                    .build();
+            case CREATE -> builder.uri(baseUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody()))
+                    .build();
+            case DELETE -> {
+                // Only employees created by this run are deleted, so the seeded roster stays intact; without one,
+                // deleting an unknown id still exercises the endpoint
+                String id = created.poll();
+                yield builder.uri(resolve("/" + (id == null ? UUID.randomUUID() : id)))
+                        .DELETE()
+                        .build();
+            }
+        };
+    }
+
+    private URI resolve(String path) {
+        return URI.create(baseUri + path);
+    }
+
+    private String randomOf(List<String> values) {
+        return values.isEmpty() ? "none" : values.get(random.nextInt(values.size()));
+    }
+
+    private String createBody() {
+        try {
+            return objectMapper.writeValueAsString(new EmployeeInput(
+                    "Load Test " + random.nextInt(1_000_000),
+                    random.nextInt(30_000, 400_000),
+                    random.nextInt(18, 70),
+                    "Load Tester"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            String id = objectMapper.readTree(body).path("id").asText(null);
+            if (id != null) {
+                created.add(id);
+            }
+        } catch (IOException e) {
+            // An unreadable response is already visible in the report; there is just nothing to delete later
+        }
+    }
+
+    private void report(PrintStream out, Duration duration, UpstreamCounter upstream, Path output) throws IOException {
+        double seconds = duration.toNanos() / 1e9;
+        out.printf(
+                "%n%-38s %8s %8s %9s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "error%", "429%");
+
+        Files.createDirectories(output);
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long requests = 0;
+        long errors = 0;
+        long rateLimited = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            printRow(
+                    out,
+                    entry.getKey().getRoute(),
+                    endpointStats.latency,
+                    endpointStats.errors.sum(),
+                    endpointStats.rateLimited.sum(),
+                    seconds);
+            total.add(endpointStats.latency);
+            requests += endpointStats.latency.getTotalCount();
+            errors += endpointStats.errors.sum();
+            rateLimited += endpointStats.rateLimited.sum();
+            writeHistogram(
+                    output.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm"), endpointStats.latency);
+        }
+        printRow(out, "all", total, errors, rateLimited, seconds);
+        writeHistogram(output.resolve("all.hgrm"), total);
+
+        out.printf(
+                "%nPeak requests in flight: %d sent, %d being handled by the API%n",
+                peakOutstanding, peakHandling.get());
+        out.printf(
+                "Upstream: %d mock server calls, %.2f per API call, %.1f%% rate limited%n",
+                upstream.getRequests(),
+                requests == 0 ? 0.0 : (double) upstream.getRequests() / requests,
+                percent(upstream.getRateLimited(), upstream.getRequests()));
+        out.printf("Histograms written to %s%n", output.toAbsolutePath());
+    }
+
+    private static void printRow(
+            PrintStream out, String route, Histogram latency, long errors, long rateLimited, double seconds) {
+        long count = latency.getTotalCount();
+        out.printf(
+                "%-38s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.2f %7.2f%n",
+                route,
+                count,
+                count / seconds,
+                millis(latency, 50),
+                millis(latency, 90),
+                millis(latency, 99),
+                millis(latency, 99.9),
+                latency.getMaxValue() / 1000.0,
+                percent(errors, count),
+                percent(rateLimited, count));
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0.0 : 100.0 * part / whole;
+    }
+
+    private static void writeHistogram(Path path, Histogram latency) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(path), false, StandardCharsets.UTF_8)) {
+            latency.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    /*
+     * Latencies are recorded in microseconds. Errors are server errors and requests that failed outright, such as
+     * timeouts; 404s from deleting or fetching unknown ids are expected and not counted.
+     */
+    private static final class EndpointStats {
+
+        private final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+
+        void record(long nanos, HttpResponse<?> response, Throwable failure) {
+            latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+            if (failure != null || response.statusCode() >= 500) {
+                errors.increment();
+            } else if (response.statusCode() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimited.increment();
+            }
+        }
+    }
+}
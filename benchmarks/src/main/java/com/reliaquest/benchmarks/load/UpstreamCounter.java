@@ -0,0 +1,46 @@
+package com.reliaquest.benchmarks.load;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Counts the requests the mock server receives, and how many of them it rate limited. Registered in the mock
+ * server's context, so every upstream call the Employee API makes is seen exactly once.
+ */
+class UpstreamCounter extends OncePerRequestFilter {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        requests.increment();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (response.getStatus() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimited.increment();
+            }
+        }
+    }
+
+    void reset() {
+        requests.reset();
+        rateLimited.reset();
+    }
+
+    long getRequests() {
+        return requests.sum();
+    }
+
+    long getRateLimited() {
+        return rateLimited.sum();
+    }
+}
@@ -1,59 +1,118 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.MockEmployeeJournal;
+import com.reliaquest.server.service.ColumnarMockEmployeeStore;
+import com.reliaquest.server.service.IndexedMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private static final Set<String> ROSTER_VERSIONED_PATHS = Set.of("/api/v1/employee", "/api/v1/employee/changes");
+
+    private final MeterRegistry meterRegistry;
+
+    // Resolved lazily: the service depends on beans defined here
+    private final ObjectProvider<MockEmployeeService> mockEmployeeService;
+
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.storage:objects}") MockEmployeeStore.Engine engine,
+            Optional<MockEmployeeJournal> mockEmployeeJournal)
+            throws IOException {
+        final Function<List<MockEmployee>, MockEmployeeStore> storeFactory =
+                switch (engine) {
+                    case OBJECTS -> IndexedMockEmployeeStore::new;
+                    case COLUMNAR -> ColumnarMockEmployeeStore::new;
+                };
+        final Supplier<List<MockEmployee>> generate = () -> {
+            final var started = System.nanoTime();
+            final var mockEmployees = new MockEmployeeGenerator(Locale.getDefault(), seed).generate(maxEmployees);
+            log.info(
+                    "Generated {} employees in {}ms{}",
+                    mockEmployees.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    seed == null ? "" : " from seed " + seed);
+            return mockEmployees;
+        };
+        if (mockEmployeeJournal.isPresent()) {
+            return mockEmployeeJournal.get().recover(generate, storeFactory);
+        }
+        return storeFactory.apply(generate.get());
+    }
+
+    /*
+     * Opt-in persistence; without it every start generates a new roster.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public MockEmployeeJournal mockEmployeeJournal(
+            @Value("${mock.persistence.directory:data}") Path directory,
+            @Value("${mock.persistence.snapshot-interval:5m}") Duration snapshotInterval) {
+        return new MockEmployeeJournal(directory, snapshotInterval);
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (rateLimitEnabled) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor(meterRegistry, this::isRosterNotModified));
+        }
+    }
+
+    /*
+     * A revalidation of the roster or its changes that will be answered 304 transfers nothing, so it is not
+     * rate limited
+     */
+    private boolean isRosterNotModified(HttpServletRequest request) {
+        final var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return ifNoneMatch != null
+                && HttpMethod.GET.matches(request.getMethod())
+                && ROSTER_VERSIONED_PATHS.contains(request.getRequestURI())
+                && ifNoneMatch.equals(mockEmployeeService.getObject().etag());
     }
 }
@@ -1,34 +1,125 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.MockEmployeeEventPublisher;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final MockEmployeeService mockEmployeeService;
+    private final MockEmployeeEventPublisher mockEmployeeEventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
+    /*
+     * Tagged with the roster version, so a client revalidating its copy with If-None-Match gets a bodiless 304
+     * while nothing has changed
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(WebRequest request) {
+        final var etag = mockEmployeeService.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(Response.handledWith(mockEmployeeService.getMockEmployees()));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<Response<MockEmployeePage>> getEmployeePage(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        try {
+            return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getPage(cursor, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error("Invalid cursor."));
+        }
+    }
+
+    /*
+     * Newline-delimited JSON, one employee per line. Employees are read page by page and flushed to the socket
+     * as they are written, so neither the server nor the client holds the whole roster at once.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        final var writer = objectMapper.writerFor(MockEmployee.class);
+        final StreamingResponseBody body = outputStream -> {
+            String cursor = null;
+            do {
+                final var page = mockEmployeeService.getPage(cursor, MAX_PAGE_SIZE);
+                for (final var employee : page.employees()) {
+                    outputStream.write(writer.writeValueAsBytes(employee));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /*
+     * Only the mutations since the caller's version, so a client keeping a copy of the roster pays for the churn
+     * rather than the roster size. Revalidates like the roster itself: 304 while nothing has changed.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<MockEmployeeChanges>> getChanges(
+            @RequestParam(name = "since") String since, WebRequest request) {
+        final var etag = mockEmployeeService.etag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok().eTag(etag).body(Response.handledWith(mockEmployeeService.changesSince(since)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Response.error("Invalid version."));
+        }
+    }
+
+    /*
+     * Server-sent events for every creation and deletion as it happens. A client reconnecting with the standard
+     * Last-Event-ID header first receives the events it missed, or a resync event when they are gone.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return mockEmployeeEventPublisher.subscribe(lastEventId);
     }
 
     @GetMapping("/{id}")
@@ -39,13 +130,79 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    @GetMapping("/stats/count")
+    public Response<Integer> getEmployeeCount() {
+        return Response.handledWith(mockEmployeeService.count());
+    }
+
+    @GetMapping("/stats/highestSalary")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.highestSalary().orElse(0));
+    }
+
+    @GetMapping("/stats/topBySalary")
+    public ResponseEntity<Response<List<MockEmployee>>> getTopBySalary(
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.topBySalary(limit)));
+    }
+
+    @GetMapping("/stats/salaryPercentiles")
+    public ResponseEntity<Response<Map<String, Integer>>> getSalaryPercentiles(
+            @RequestParam(name = "p", defaultValue = "50,90,99") List<Double> percentiles) {
+        final var salaries = new LinkedHashMap<String, Integer>();
+        for (final var percentile : percentiles) {
+            if (!Double.isFinite(percentile) || percentile < 0 || percentile > 100) {
+                return ResponseEntity.badRequest().body(Response.error("percentiles must be between 0 and 100"));
+            }
+            mockEmployeeService
+                    .salaryPercentile(percentile)
+                    .ifPresent(salary -> salaries.put(
+                            "p"
+                                    + BigDecimal.valueOf(percentile)
+                                            .stripTrailingZeros()
+                                            .toPlainString(),
+                            salary));
+        }
+        return ResponseEntity.ok(Response.handledWith(salaries));
+    }
+
     @PostMapping()
     public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /*
+     * Either every employee in the batch is valid and created, or none is: the first invalid one rejects the batch
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Response<List<MockEmployee>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.isEmpty() || inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("batch size must be between 1 and " + MAX_BATCH_SIZE));
+        }
+        for (int i = 0; i < inputs.size(); i++) {
+            final var input = inputs.get(i);
+            if (input == null || !validator.validate(input).isEmpty()) {
+                return ResponseEntity.badRequest().body(Response.error("Invalid employee at index " + i + "."));
+            }
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.createAll(inputs)));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
 }
@@ -0,0 +1,15 @@
+package com.reliaquest.server.model;
+
+/**
+ * One mutation of the roster.
+ *
+ * @param version the roster version this mutation produced
+ * @param employee the employee as created, or as it was when deleted
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * The mutations since a given roster version, oldest first.
+ *
+ * @param version the roster version once these changes are applied; pass it back to fetch the next changes
+ * @param resync {@code true} when the changes since the requested version are no longer retained, or the version
+ * was issued before the server restarted; the roster must then be fetched again in full and {@code changes} is empty
+ */
+public record MockEmployeeChanges(String version, boolean resync, List<MockEmployeeChange> changes) {}
@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * One page of the roster in insertion order.
+ *
+ * @param nextCursor pass back to fetch the following page; absent on the last page
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeePage(List<MockEmployee> employees, String nextCursor) {}
@@ -0,0 +1,79 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary encoding of a {@link MockEmployee}, shared by the write-ahead log and snapshots.
+ *
+ * Layout: id as two longs, then name, salary, age, title and email. Strings are a length-prefixed UTF-8 byte
+ * array and integers a presence flag followed by the value; a length of -1 or a zero flag stands for {@code null}.
+ */
+final class EmployeeCodec {
+
+    private EmployeeCodec() {}
+
+    static void write(DataOutput out, MockEmployee mockEmployee) throws IOException {
+        writeUuid(out, mockEmployee.getId());
+        writeString(out, mockEmployee.getName());
+        writeInteger(out, mockEmployee.getSalary());
+        writeInteger(out, mockEmployee.getAge());
+        writeString(out, mockEmployee.getTitle());
+        writeString(out, mockEmployee.getEmail());
+    }
+
+    static MockEmployee read(ByteBuffer in) {
+        return MockEmployee.builder()
+                .id(readUuid(in))
+                .name(readString(in))
+                .salary(readInteger(in))
+                .age(readInteger(in))
+                .title(readString(in))
+                .email(readString(in))
+                .build();
+    }
+
+    static void writeUuid(DataOutput out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        final var length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(ByteBuffer in) {
+        return in.get() != 0 ? in.getInt() : null;
+    }
+}
@@ -0,0 +1,188 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes the mock roster survive restarts.
+ *
+ * Every create and delete is appended to a {@link WriteAheadLog}, and only applied to the roster once it is on disk;
+ * a mutation that cannot be logged is not applied at all. The roster is periodically compacted into a
+ * {@link SnapshotFile}, after which the log segments it covers are deleted.
+ * On startup the snapshot is memory-mapped and the remaining log replayed on top of it, so a restart reads
+ * a file instead of regenerating the roster.
+ */
+@Slf4j
+public class MockEmployeeJournal implements Closeable {
+
+    private static final String SNAPSHOT = "snapshot.bin";
+
+    private final Path directory;
+    private final Duration snapshotInterval;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong mutationsSinceSnapshot = new AtomicLong();
+
+    // Held shared from logging a mutation until it is applied, and exclusively to snapshot
+    private final ReentrantReadWriteLock mutationLock = new ReentrantReadWriteLock();
+
+    private WriteAheadLog writeAheadLog;
+    private MockEmployeeStore mockEmployeeStore;
+
+    public MockEmployeeJournal(Path directory, Duration snapshotInterval) {
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "roster-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Restores the roster from disk, or seeds and snapshots a new one when there is nothing to restore.
+     */
+    public synchronized MockEmployeeStore recover(
+            Supplier<List<MockEmployee>> seed, Function<List<MockEmployee>, MockEmployeeStore> storeFactory)
+            throws IOException {
+        Files.createDirectories(directory);
+        final var snapshotFile = directory.resolve(SNAPSHOT);
+        final var started = System.nanoTime();
+
+        final var restored = Files.exists(snapshotFile);
+        long fromSegment = 0;
+        final List<MockEmployee> mockEmployees;
+        if (restored) {
+            final var snapshot = SnapshotFile.read(snapshotFile);
+            fromSegment = snapshot.nextSegment();
+            mockEmployees = snapshot.mockEmployees();
+        } else {
+            mockEmployees = seed.get();
+        }
+
+        final var store = storeFactory.apply(mockEmployees);
+        final var replayed = new AtomicLong();
+        final var nextSegment = WriteAheadLog.replay(directory, fromSegment, mutation -> {
+            if (mutation.created() != null) {
+                store.add(mutation.created());
+            } else {
+                store.remove(mutation.deleted());
+            }
+            replayed.incrementAndGet();
+        });
+        if (restored) {
+            log.info(
+                    "Restored {} employees from {} and {} logged mutations in {}ms",
+                    mockEmployees.size(),
+                    snapshotFile,
+                    replayed.get(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+
+        this.mockEmployeeStore = store;
+        this.writeAheadLog = new WriteAheadLog(directory, nextSegment);
+        if (!restored || replayed.get() > 0) {
+            mutationsSinceSnapshot.set(1);
+            snapshot();
+        }
+        final var interval = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    /**
+     * Blocks until the creation of {@code mockEmployees} is durable, then applies it with {@code apply}. The batch is
+     * logged as one record and synced once.
+     *
+     * @return the result of {@code apply}
+     */
+    public <T> T created(List<MockEmployee> mockEmployees, Supplier<T> apply) {
+        return logThenApply(
+                () -> mockEmployees.size() == 1
+                        ? writeAheadLog.appendCreate(mockEmployees.get(0))
+                        : writeAheadLog.appendCreateAll(mockEmployees),
+                apply);
+    }
+
+    /**
+     * Blocks until the deletion of the employee {@code id} is durable, then applies it with {@code apply}. Replaying
+     * the deletion of an employee that is already gone does nothing.
+     *
+     * @return the result of {@code apply}
+     */
+    public <T> T deleted(UUID id, Supplier<T> apply) {
+        return logThenApply(() -> writeAheadLog.appendDelete(id), apply);
+    }
+
+    /**
+     * Compacts the roster into a new snapshot and drops the log segments it covers.
+     */
+    public synchronized void snapshot() throws IOException {
+        if (mutationsSinceSnapshot.getAndSet(0) == 0) {
+            return;
+        }
+        // No mutation is between being logged and applied while the lock is held, so everything logged before the
+        // rotation is in the store and the snapshot covers it
+        final long nextSegment;
+        final List<MockEmployee> mockEmployees;
+        mutationLock.writeLock().lock();
+        try {
+            nextSegment = writeAheadLog.rotate().join();
+            mockEmployees = mockEmployeeStore.snapshot();
+        } finally {
+            mutationLock.writeLock().unlock();
+        }
+        SnapshotFile.write(directory.resolve(SNAPSHOT), nextSegment, mockEmployees);
+        writeAheadLog.deleteSegmentsBefore(nextSegment);
+        log.info("Snapshotted {} employees to {}", mockEmployees.size(), directory.resolve(SNAPSHOT));
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        if (writeAheadLog != null) {
+            snapshot();
+            writeAheadLog.close();
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Roster snapshot failed, the write-ahead log is kept until the next attempt", e);
+            mutationsSinceSnapshot.incrementAndGet();
+        }
+    }
+
+    private <T> T logThenApply(Supplier<CompletableFuture<Long>> append, Supplier<T> apply) {
+        mutationLock.readLock().lock();
+        try {
+            try {
+                append.get().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            mutationsSinceSnapshot.incrementAndGet();
+            return apply.get();
+        } finally {
+            mutationLock.readLock().unlock();
+        }
+    }
+}
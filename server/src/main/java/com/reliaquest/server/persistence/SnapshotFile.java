@@ -0,0 +1,69 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compacted roster snapshot: a header followed by every employee in insertion order.
+ *
+ * Snapshots are written to a temporary file, forced to disk and atomically moved into place, so a crash leaves
+ * either the previous snapshot or the new one. They are read back through a read-only memory mapping.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x4D455331;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SnapshotFile() {}
+
+    /**
+     * @param nextSegment first write-ahead log segment not covered by this snapshot
+     */
+    static void write(Path file, long nextSegment, Collection<MockEmployee> mockEmployees) throws IOException {
+        final var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (final var out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeLong(nextSegment);
+            out.writeInt(mockEmployees.size());
+            for (final var mockEmployee : mockEmployees) {
+                EmployeeCodec.write(out, mockEmployee);
+            }
+        }
+        try (final var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    static Snapshot read(Path file) throws IOException {
+        try (final var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is too large to map: " + file);
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a roster snapshot: " + file);
+            }
+            final var nextSegment = buffer.getLong();
+            final var count = buffer.getInt();
+            final var mockEmployees = new ArrayList<MockEmployee>(count);
+            for (int i = 0; i < count; i++) {
+                mockEmployees.add(EmployeeCodec.read(buffer));
+            }
+            return new Snapshot(nextSegment, mockEmployees);
+        }
+    }
+
+    record Snapshot(long nextSegment, List<MockEmployee> mockEmployees) {}
+}
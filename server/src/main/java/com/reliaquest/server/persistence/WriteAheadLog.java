@@ -0,0 +1,356 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only log of roster mutations, split into numbered segment files.
+ *
+ * Appends are queued to a single writer thread, which writes every record queued since its last fsync and then
+ * forces the segment once for the whole batch, so concurrent writers share the cost of a sync (group commit).
+ * An append completes once its record is on disk. Records are framed as type, payload length, payload and a
+ * CRC32 of type and payload; replay stops at the first torn or corrupt record.
+ *
+ * A failed write fails the appends of its batch and the segment is truncated back to its last synced length, so
+ * the records appended afterwards are not hidden behind a partial one. If that fails too, the log stops and every
+ * later append fails.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+
+    private static final byte CREATE = 1;
+    private static final byte DELETE = 2;
+    private static final byte CREATE_ALL = 3;
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile boolean failed;
+
+    // Owned by the writer thread
+    private FileChannel channel;
+    private long segment;
+    private long synced;
+
+    /**
+     * @param segment number of the segment to start writing; existing segments are never appended to
+     */
+    public WriteAheadLog(Path directory, long segment) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        this.channel = open(segment);
+        this.synced = channel.size();
+        this.writer = new Thread(this::run, "write-ahead-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public CompletableFuture<Long> appendCreate(MockEmployee mockEmployee) {
+        return append(CREATE, out -> EmployeeCodec.write(out, mockEmployee));
+    }
+
+    /**
+     * Logs the creation of all of {@code mockEmployees} as one record, so either all of them are replayed or none.
+     */
+    public CompletableFuture<Long> appendCreateAll(List<MockEmployee> mockEmployees) {
+        return append(CREATE_ALL, out -> {
+            out.writeInt(mockEmployees.size());
+            for (final var mockEmployee : mockEmployees) {
+                EmployeeCodec.write(out, mockEmployee);
+            }
+        });
+    }
+
+    public CompletableFuture<Long> appendDelete(UUID id) {
+        return append(DELETE, out -> EmployeeCodec.writeUuid(out, id));
+    }
+
+    /**
+     * Closes the current segment and starts the next one.
+     *
+     * @return the number of the new segment; every append completed before the call is in an earlier segment
+     */
+    public CompletableFuture<Long> rotate() {
+        return enqueue(new Pending(Pending.ROTATE, null));
+    }
+
+    public void deleteSegmentsBefore(long segment) throws IOException {
+        for (final var path : segments(directory)) {
+            if (segmentNumber(path) < segment) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Applies the mutations of every segment numbered {@code fromSegment} or higher, in order.
+     *
+     * @return the number of the first segment after those replayed
+     */
+    public static long replay(Path directory, long fromSegment, Consumer<Mutation> apply) throws IOException {
+        long next = fromSegment;
+        for (final var path : segments(directory)) {
+            final var number = segmentNumber(path);
+            if (number < fromSegment) {
+                continue;
+            }
+            replaySegment(path, apply);
+            next = Math.max(next, number + 1);
+        }
+        return next;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        queue.add(new Pending(Pending.STOP, null));
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failRemaining();
+    }
+
+    private CompletableFuture<Long> append(byte type, Encoder encoder) {
+        final var bytes = new ByteArrayOutputStream(128);
+        try (final var out = new DataOutputStream(bytes)) {
+            encoder.encode(out);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final var payload = bytes.toByteArray();
+        final var crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        final var record = ByteBuffer.allocate(1 + Integer.BYTES + payload.length + Integer.BYTES);
+        record.put(type)
+                .putInt(payload.length)
+                .put(payload)
+                .putInt((int) crc.getValue())
+                .flip();
+        return enqueue(new Pending(Pending.APPEND, record));
+    }
+
+    private CompletableFuture<Long> enqueue(Pending pending) {
+        if (closed || failed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Write-ahead log is closed"));
+        }
+        queue.add(pending);
+        if (closed || failed) {
+            // The writer may have stopped before it could see this one
+            failRemaining();
+        }
+        return pending.done();
+    }
+
+    private void run() {
+        final var batch = new ArrayList<Pending>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+            if (!write(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /*
+     * Writes a batch, syncing once per segment touched. Returns false once the log is stopped.
+     */
+    private boolean write(List<Pending> batch) {
+        final var unsynced = new ArrayList<Pending>();
+        try {
+            for (final var pending : batch) {
+                switch (pending.kind()) {
+                    case Pending.APPEND -> {
+                        while (pending.record().hasRemaining()) {
+                            channel.write(pending.record());
+                        }
+                        unsynced.add(pending);
+                    }
+                    case Pending.ROTATE -> {
+                        sync(unsynced);
+                        // Open the next segment first, so a failure leaves the current one in use
+                        final var next = open(segment + 1);
+                        try {
+                            channel.close();
+                        } finally {
+                            channel = next;
+                            segment++;
+                            synced = next.size();
+                        }
+                        pending.done().complete(segment);
+                    }
+                    default -> {
+                        sync(unsynced);
+                        channel.close();
+                        pending.done().complete(segment);
+                        failRemaining();
+                        return false;
+                    }
+                }
+            }
+            sync(unsynced);
+        } catch (IOException e) {
+            log.error("Write-ahead log write failed", e);
+            batch.forEach(pending -> pending.done().completeExceptionally(new UncheckedIOException(e)));
+            if (closed || !discardUnsynced()) {
+                failed = true;
+                try {
+                    channel.close();
+                } catch (IOException suppressed) {
+                    log.debug("Closing the write-ahead log failed", suppressed);
+                }
+                failRemaining();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Truncates a partly written batch off the segment; returns false if the segment cannot be appended to again
+     */
+    private boolean discardUnsynced() {
+        try {
+            channel.truncate(synced);
+            channel.force(false);
+            return true;
+        } catch (IOException e) {
+            log.error("Write-ahead log could not discard a failed write, no further appends are accepted", e);
+            return false;
+        }
+    }
+
+    private void sync(List<Pending> unsynced) throws IOException {
+        if (unsynced.isEmpty()) {
+            return;
+        }
+        channel.force(false);
+        synced = channel.size();
+        unsynced.forEach(pending -> pending.done().complete(segment));
+        unsynced.clear();
+    }
+
+    private void failRemaining() {
+        final var remaining = new ArrayList<Pending>();
+        queue.drainTo(remaining);
+        remaining.forEach(pending ->
+                pending.done().completeExceptionally(new IllegalStateException("Write-ahead log is closed")));
+    }
+
+    private FileChannel open(long number) throws IOException {
+        return FileChannel.open(
+                directory.resolve("wal-%020d.log".formatted(number)),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static void replaySegment(Path path, Consumer<Mutation> apply) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            final var crc = new CRC32();
+            while (buffer.remaining() >= 1 + Integer.BYTES) {
+                final var start = buffer.position();
+                final var type = buffer.get();
+                final var length = buffer.getInt();
+                if (length < 0 || buffer.remaining() < length + Integer.BYTES) {
+                    log.warn("Ignoring torn record at offset {} of {}", start, path);
+                    return;
+                }
+                final var payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                crc.reset();
+                crc.update(type);
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt()) {
+                    log.warn("Ignoring corrupt record at offset {} of {}", start, path);
+                    return;
+                }
+                switch (type) {
+                    case CREATE -> apply.accept(Mutation.created(EmployeeCodec.read(payload)));
+                    case CREATE_ALL -> {
+                        final var count = payload.getInt();
+                        for (int i = 0; i < count; i++) {
+                            apply.accept(Mutation.created(EmployeeCodec.read(payload)));
+                        }
+                    }
+                    default -> apply.accept(Mutation.deleted(EmployeeCodec.readUuid(payload)));
+                }
+            }
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path ->
+                            SEGMENT.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path path) {
+        final var matcher = SEGMENT.matcher(path.getFileName().toString());
+        matcher.matches();
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * A replayed mutation: a created employee, or the id of a deleted one.
+     */
+    public record Mutation(MockEmployee created, UUID deleted) {
+
+        static Mutation created(MockEmployee mockEmployee) {
+            return new Mutation(mockEmployee, null);
+        }
+
+        static Mutation deleted(UUID id) {
+            return new Mutation(null, id);
+        }
+    }
+
+    private interface Encoder {
+        void encode(DataOutputStream out) throws IOException;
+    }
+
+    private record Pending(int kind, ByteBuffer record, CompletableFuture<Long> done) {
+
+        static final int APPEND = 0;
+        static final int ROTATE = 1;
+        static final int STOP = 2;
+
+        Pending(int kind, ByteBuffer record) {
+            this(kind, record, new CompletableFuture<>());
+        }
+    }
+}
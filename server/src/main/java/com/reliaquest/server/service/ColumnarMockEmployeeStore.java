@@ -0,0 +1,416 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+
+/**
+ * Column-oriented storage of mock employees in primitive arrays.
+ *
+ * Each field is a column indexed by row: ids as two long columns, salary and age as int columns, names and the
+ * local part of emails as String columns, and titles and email domains as codes into shared dictionaries. Ids are
+ * found through an open-addressing table of row numbers, so no per-employee object is kept besides its strings.
+ * {@link MockEmployee} objects are only materialised for the employees a read returns.
+ *
+ * A histogram of salaries is maintained on every add and delete, so the highest salary and percentiles cost
+ * O(distinct salaries) at most rather than a pass over the column; the top N scans the salary column with a bounded
+ * heap instead of keeping an ordered index of rows. Deletes leave a hole that is reclaimed once holes make up half of
+ * the rows.
+ */
+public class ColumnarMockEmployeeStore implements MockEmployeeStore {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NO_CODE = -1;
+    private static final int EMPTY = 0;
+    private static final int TOMBSTONE = -1;
+    private static final int MIN_COMPACTION = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // All state below is guarded by lock
+    private final Dictionary titleDictionary = new Dictionary();
+    private final Dictionary domainDictionary = new Dictionary();
+    private final NavigableMap<Integer, Integer> salaryHistogram = new TreeMap<>();
+    private int knownSalaries;
+    private long[] sequences;
+    private long[] idMostBits;
+    private long[] idLeastBits;
+    private String[] names;
+    private int[] salaries;
+    private int[] ages;
+    private int[] titles;
+    private String[] emailLocalParts;
+    private int[] emailDomains;
+    private boolean[] deleted;
+    private int rows;
+    private int holes;
+    private long nextSequence;
+
+    // Open addressing on the id: row + 1, EMPTY or TOMBSTONE
+    private int[] idTable;
+    private int idTableUsed;
+
+    public ColumnarMockEmployeeStore(@NonNull Collection<MockEmployee> mockEmployees) {
+        allocate(Math.max(16, mockEmployees.size()));
+        idTable = new int[tableCapacity(mockEmployees.size())];
+        mockEmployees.forEach(this::add);
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        lock.readLock().lock();
+        try {
+            final var row = findRow(uuid);
+            return row < 0 ? Optional.empty() : Optional.of(materialise(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(@NonNull MockEmployee mockEmployee) {
+        Objects.requireNonNull(mockEmployee.getId(), "id");
+        lock.writeLock().lock();
+        try {
+            final var previous = findRow(mockEmployee.getId());
+            if (previous >= 0) {
+                delete(previous);
+            }
+            if (rows == sequences.length) {
+                allocate(rows * 2);
+            }
+            if ((idTableUsed + 1) * 2 > idTable.length) {
+                rebuildIdTable(tableCapacity(rows - holes + 1));
+            }
+            final var row = rows++;
+            sequences[row] = nextSequence++;
+            idMostBits[row] = mockEmployee.getId().getMostSignificantBits();
+            idLeastBits[row] = mockEmployee.getId().getLeastSignificantBits();
+            names[row] = mockEmployee.getName();
+            salaries[row] = mockEmployee.getSalary() == null ? NULL_INT : mockEmployee.getSalary();
+            if (salaries[row] != NULL_INT) {
+                salaryHistogram.merge(salaries[row], 1, Integer::sum);
+                knownSalaries++;
+            }
+            ages[row] = mockEmployee.getAge() == null ? NULL_INT : mockEmployee.getAge();
+            titles[row] = titleDictionary.encode(mockEmployee.getTitle());
+            final var email = mockEmployee.getEmail();
+            final var at = email == null ? -1 : email.lastIndexOf('@');
+            emailLocalParts[row] = at < 0 ? email : email.substring(0, at);
+            emailDomains[row] = at < 0 ? NO_CODE : domainDictionary.encode(email.substring(at + 1));
+            insertId(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> remove(@NonNull UUID uuid) {
+        lock.writeLock().lock();
+        try {
+            final var row = findRow(uuid);
+            if (row < 0) {
+                return Optional.empty();
+            }
+            final var mockEmployee = materialise(row);
+            delete(row);
+            return Optional.of(mockEmployee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Scans the name column: deletes by name are rare enough that a name index is not worth its footprint here
+     */
+    @Override
+    public Optional<MockEmployee> findFirstByName(@NonNull String name) {
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < rows; row++) {
+                if (!deleted[row] && name.equalsIgnoreCase(names[row])) {
+                    return Optional.of(materialise(row));
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> snapshot() {
+        lock.readLock().lock();
+        try {
+            final var mockEmployees = new ArrayList<MockEmployee>(rows - holes);
+            for (int row = 0; row < rows; row++) {
+                if (!deleted[row]) {
+                    mockEmployees.add(materialise(row));
+                }
+            }
+            return List.copyOf(mockEmployees);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public MockEmployeePage page(long after, int limit) {
+        lock.readLock().lock();
+        try {
+            // Sequences increase with the row, and survive compaction
+            final var found = Arrays.binarySearch(sequences, 0, rows, after);
+            final var mockEmployees = new ArrayList<MockEmployee>(Math.min(limit, rows - holes));
+            long last = after;
+            for (int row = found >= 0 ? found + 1 : -found - 1; row < rows; row++) {
+                if (deleted[row]) {
+                    continue;
+                }
+                if (mockEmployees.size() == limit) {
+                    return new MockEmployeePage(mockEmployees, String.valueOf(last));
+                }
+                mockEmployees.add(materialise(row));
+                last = sequences[row];
+            }
+            return new MockEmployeePage(mockEmployees, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows - holes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalInt highestSalary() {
+        lock.readLock().lock();
+        try {
+            return salaryHistogram.isEmpty() ? OptionalInt.empty() : OptionalInt.of(salaryHistogram.lastKey());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> topBySalary(int limit) {
+        lock.readLock().lock();
+        try {
+            // Bounded min-heap of rows; rows increase with insertion order, so the later row loses a tie. Sized by
+            // the rows that can enter it, not by the caller's limit
+            final var top = new PriorityQueue<Integer>(
+                    Math.max(1, Math.min(limit, knownSalaries)),
+                    (a, b) -> salaries[a] != salaries[b] ? Integer.compare(salaries[a], salaries[b]) : b - a);
+            for (int row = 0; row < rows; row++) {
+                if (deleted[row] || salaries[row] == NULL_INT) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(row);
+                } else if (limit > 0 && salaries[row] > salaries[top.peek()]) {
+                    top.poll();
+                    top.add(row);
+                }
+            }
+            final var mockEmployees = new ArrayList<MockEmployee>(top.size());
+            while (!top.isEmpty()) {
+                mockEmployees.add(materialise(top.poll()));
+            }
+            Collections.reverse(mockEmployees);
+            return mockEmployees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalInt salaryPercentile(double percentile) {
+        lock.readLock().lock();
+        try {
+            if (knownSalaries == 0) {
+                return OptionalInt.empty();
+            }
+            final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * knownSalaries));
+            long seen = 0;
+            for (final var bucket : salaryHistogram.entrySet()) {
+                seen += bucket.getValue();
+                if (seen >= rank) {
+                    return OptionalInt.of(bucket.getKey());
+                }
+            }
+            return OptionalInt.of(salaryHistogram.lastKey());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private MockEmployee materialise(int row) {
+        final var domain = domainDictionary.decode(emailDomains[row]);
+        return MockEmployee.builder()
+                .id(new UUID(idMostBits[row], idLeastBits[row]))
+                .name(names[row])
+                .salary(salaries[row] == NULL_INT ? null : salaries[row])
+                .age(ages[row] == NULL_INT ? null : ages[row])
+                .title(titleDictionary.decode(titles[row]))
+                .email(domain == null ? emailLocalParts[row] : emailLocalParts[row] + "@" + domain)
+                .build();
+    }
+
+    private void delete(int row) {
+        removeId(row);
+        if (salaries[row] != NULL_INT) {
+            salaryHistogram.computeIfPresent(salaries[row], (salary, count) -> count > 1 ? count - 1 : null);
+            knownSalaries--;
+        }
+        deleted[row] = true;
+        names[row] = null;
+        emailLocalParts[row] = null;
+        holes++;
+        if (holes > MIN_COMPACTION && holes > rows / 2) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        var live = 0;
+        for (int row = 0; row < rows; row++) {
+            if (deleted[row]) {
+                continue;
+            }
+            sequences[live] = sequences[row];
+            idMostBits[live] = idMostBits[row];
+            idLeastBits[live] = idLeastBits[row];
+            names[live] = names[row];
+            salaries[live] = salaries[row];
+            ages[live] = ages[row];
+            titles[live] = titles[row];
+            emailLocalParts[live] = emailLocalParts[row];
+            emailDomains[live] = emailDomains[row];
+            deleted[live] = false;
+            live++;
+        }
+        Arrays.fill(names, live, rows, null);
+        Arrays.fill(emailLocalParts, live, rows, null);
+        Arrays.fill(deleted, live, rows, false);
+        rows = live;
+        holes = 0;
+        rebuildIdTable(tableCapacity(rows));
+    }
+
+    private void allocate(int capacity) {
+        sequences = sequences == null ? new long[capacity] : Arrays.copyOf(sequences, capacity);
+        idMostBits = idMostBits == null ? new long[capacity] : Arrays.copyOf(idMostBits, capacity);
+        idLeastBits = idLeastBits == null ? new long[capacity] : Arrays.copyOf(idLeastBits, capacity);
+        names = names == null ? new String[capacity] : Arrays.copyOf(names, capacity);
+        salaries = salaries == null ? new int[capacity] : Arrays.copyOf(salaries, capacity);
+        ages = ages == null ? new int[capacity] : Arrays.copyOf(ages, capacity);
+        titles = titles == null ? new int[capacity] : Arrays.copyOf(titles, capacity);
+        emailLocalParts = emailLocalParts == null ? new String[capacity] : Arrays.copyOf(emailLocalParts, capacity);
+        emailDomains = emailDomains == null ? new int[capacity] : Arrays.copyOf(emailDomains, capacity);
+        deleted = deleted == null ? new boolean[capacity] : Arrays.copyOf(deleted, capacity);
+    }
+
+    private int findRow(UUID uuid) {
+        final var most = uuid.getMostSignificantBits();
+        final var least = uuid.getLeastSignificantBits();
+        final var mask = idTable.length - 1;
+        for (int slot = hash(most, least) & mask; ; slot = (slot + 1) & mask) {
+            final var entry = idTable[slot];
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if (entry != TOMBSTONE && idMostBits[entry - 1] == most && idLeastBits[entry - 1] == least) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void insertId(int row) {
+        final var mask = idTable.length - 1;
+        var slot = hash(idMostBits[row], idLeastBits[row]) & mask;
+        while (idTable[slot] != EMPTY && idTable[slot] != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (idTable[slot] == EMPTY) {
+            idTableUsed++;
+        }
+        idTable[slot] = row + 1;
+    }
+
+    private void removeId(int row) {
+        final var mask = idTable.length - 1;
+        for (int slot = hash(idMostBits[row], idLeastBits[row]) & mask; ; slot = (slot + 1) & mask) {
+            if (idTable[slot] == row + 1) {
+                // Tombstones still count towards the load factor until the next rebuild
+                idTable[slot] = TOMBSTONE;
+                return;
+            }
+        }
+    }
+
+    private void rebuildIdTable(int capacity) {
+        idTable = new int[capacity];
+        idTableUsed = 0;
+        for (int row = 0; row < rows; row++) {
+            if (!deleted[row]) {
+                insertId(row);
+            }
+        }
+    }
+
+    /*
+     * Power of two keeping the table at most half full
+     */
+    private static int tableCapacity(int entries) {
+        return Integer.highestOneBit(Math.max(16, entries * 4 - 1));
+    }
+
+    private static int hash(long most, long least) {
+        final var mixed = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /*
+     * Interns low-cardinality strings as int codes
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, ignored -> {
+                values.add(value);
+                return values.size() - 1;
+            });
+        }
+
+        String decode(int code) {
+            return code == NO_CODE ? null : values.get(code);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+
+/**
+ * Indexed storage of mock employee objects.
+ *
+ * UUID lookups are lock-free hash lookups and lookups by name go through a case-insensitive name index.
+ * Employees keep their insertion order, and {@link #snapshot()} returns a consistent point-in-time copy, so
+ * serialising the roster never races with concurrent mutations. Salary aggregates are maintained on every
+ * mutation, see {@link SalaryStatistics}.
+ */
+public class IndexedMockEmployeeStore implements MockEmployeeStore {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+
+    // Guarded by lock
+    private final NavigableMap<Long, MockEmployee> bySequence = new TreeMap<>();
+    private final Map<String, NavigableSet<Long>> byName = new HashMap<>();
+    private final SalaryStatistics salaryStatistics = new SalaryStatistics();
+    private long nextSequence;
+
+    public IndexedMockEmployeeStore(@NonNull Collection<MockEmployee> mockEmployees) {
+        mockEmployees.forEach(this::add);
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        return Optional.ofNullable(byId.get(uuid)).map(Entry::employee);
+    }
+
+    @Override
+    public void add(@NonNull MockEmployee mockEmployee) {
+        Objects.requireNonNull(mockEmployee.getId(), "id");
+        lock.writeLock().lock();
+        try {
+            final var previous = byId.get(mockEmployee.getId());
+            if (previous != null) {
+                unindex(previous);
+            }
+            final var entry = new Entry(nextSequence++, mockEmployee);
+            byId.put(mockEmployee.getId(), entry);
+            bySequence.put(entry.sequence(), mockEmployee);
+            if (mockEmployee.getName() != null) {
+                byName.computeIfAbsent(nameKey(mockEmployee.getName()), ignored -> new TreeSet<>())
+                        .add(entry.sequence());
+            }
+            salaryStatistics.added(entry.sequence(), mockEmployee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> remove(@NonNull UUID uuid) {
+        lock.writeLock().lock();
+        try {
+            final var entry = byId.remove(uuid);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            unindex(entry);
+            return Optional.of(entry.employee());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> findFirstByName(@NonNull String name) {
+        lock.readLock().lock();
+        try {
+            final var sequences = byName.get(nameKey(name));
+            if (sequences == null || sequences.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(bySequence.get(sequences.first()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> snapshot() {
+        lock.readLock().lock();
+        try {
+            return List.copyOf(bySequence.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public MockEmployeePage page(long after, int limit) {
+        lock.readLock().lock();
+        try {
+            final var employees = new ArrayList<MockEmployee>(Math.min(limit, bySequence.size()));
+            long last = after;
+            for (final var entry : bySequence.tailMap(after, false).entrySet()) {
+                if (employees.size() == limit) {
+                    return new MockEmployeePage(employees, String.valueOf(last));
+                }
+                employees.add(entry.getValue());
+                last = entry.getKey();
+            }
+            return new MockEmployeePage(employees, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    @Override
+    public OptionalInt highestSalary() {
+        lock.readLock().lock();
+        try {
+            return salaryStatistics.highestSalary();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> topBySalary(int limit) {
+        lock.readLock().lock();
+        try {
+            return salaryStatistics.topBySalary(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalInt salaryPercentile(double percentile) {
+        lock.readLock().lock();
+        try {
+            return salaryStatistics.salaryPercentile(percentile);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void unindex(Entry entry) {
+        bySequence.remove(entry.sequence());
+        salaryStatistics.removed(entry.sequence(), entry.employee());
+        final var name = entry.employee().getName();
+        if (name == null) {
+            return;
+        }
+        final var key = nameKey(name);
+        final var sequences = byName.get(key);
+        if (sequences != null) {
+            sequences.remove(entry.sequence());
+            if (sequences.isEmpty()) {
+                byName.remove(key);
+            }
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long sequence, MockEmployee employee) {}
+}
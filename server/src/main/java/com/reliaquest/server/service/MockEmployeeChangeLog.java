@@ -0,0 +1,128 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-memory journal of roster mutations, numbered by the roster version each one produced.
+ *
+ * Versions are written {@code <epoch>-<n>}: {@code n} counts mutations since startup and the epoch tells apart
+ * versions issued before a restart, which regenerates the roster and starts counting again. Only the most recent
+ * mutations are retained; a client that has fallen further behind is told to fetch the roster again.
+ */
+@Component
+public class MockEmployeeChangeLog {
+
+    private final int capacity;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    // Guarded by this
+    private final ArrayDeque<MockEmployeeChange> changes = new ArrayDeque<>();
+
+    private long version;
+
+    private final List<Consumer<MockEmployeeChange>> listeners = new CopyOnWriteArrayList<>();
+
+    public MockEmployeeChangeLog(@Value("${mock.changes.capacity:10000}") int capacity) {
+        this.capacity = Math.max(capacity, 0);
+    }
+
+    public synchronized String version() {
+        return epoch + "-" + version;
+    }
+
+    public void created(@NonNull MockEmployee employee) {
+        append(MockEmployeeChange.Type.CREATED, employee);
+    }
+
+    public void deleted(@NonNull MockEmployee employee) {
+        append(MockEmployeeChange.Type.DELETED, employee);
+    }
+
+    private synchronized void append(MockEmployeeChange.Type type, MockEmployee employee) {
+        version++;
+        final var change = new MockEmployeeChange(version, type, employee);
+        changes.addLast(change);
+        if (changes.size() > capacity) {
+            changes.removeFirst();
+        }
+        // Still holding the lock, so every listener sees the changes in version order
+        listeners.forEach(listener -> listener.accept(change));
+    }
+
+    /**
+     * Registers {@code listener} for every change after {@code since}, atomically with reading the ones already
+     * made, so none is missed or seen twice. The listener runs while a mutation holds this log and must not block.
+     *
+     * @param since a version issued by this log, or {@code null} for only the changes to come
+     * @return the retained changes since {@code since}, to be applied before any passed to {@code listener}
+     * @throws IllegalArgumentException if {@code since} is not a version; {@code listener} is not registered
+     */
+    public synchronized MockEmployeeChanges subscribe(String since, @NonNull Consumer<MockEmployeeChange> listener) {
+        final var backlog = since == null ? new MockEmployeeChanges(version(), false, List.of()) : since(since);
+        listeners.add(listener);
+        return backlog;
+    }
+
+    public void unsubscribe(Consumer<MockEmployeeChange> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return the roster version {@code change} produced, as issued by {@link #version()}
+     */
+    public String versionOf(@NonNull MockEmployeeChange change) {
+        return epoch + "-" + change.version();
+    }
+
+    /**
+     * @param since a version issued by this log, optionally quoted as in an entity tag
+     * @throws IllegalArgumentException if {@code since} is not a version
+     */
+    public synchronized MockEmployeeChanges since(@NonNull String since) {
+        final var current = version();
+        final var unquoted = since.length() >= 2 && since.startsWith("\"") && since.endsWith("\"")
+                ? since.substring(1, since.length() - 1)
+                : since;
+        final var separator = unquoted.lastIndexOf('-');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid version: " + since);
+        }
+        final long after;
+        try {
+            after = Long.parseLong(unquoted.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid version: " + since, e);
+        }
+
+        final var oldestRetained =
+                changes.isEmpty() ? version + 1 : changes.peekFirst().version();
+        if (!epoch.equals(unquoted.substring(0, separator)) || after < oldestRetained - 1 || after > version) {
+            return new MockEmployeeChanges(current, true, List.of());
+        }
+
+        // Walk back from the newest change, so the cost follows the number of changes rather than the capacity
+        final var delta = new ArrayList<MockEmployeeChange>((int) (version - after));
+        final var newestFirst = changes.descendingIterator();
+        while (newestFirst.hasNext()) {
+            final var change = newestFirst.next();
+            if (change.version() <= after) {
+                break;
+            }
+            delta.add(change);
+        }
+        Collections.reverse(delta);
+        return new MockEmployeeChanges(current, false, delta);
+    }
+}
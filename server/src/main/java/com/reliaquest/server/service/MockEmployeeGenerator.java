@@ -0,0 +1,69 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import net.datafaker.Faker;
+
+/**
+ * Generates seed employees in parallel.
+ *
+ * The roster is split into fixed-size chunks generated across the common pool. Faker is not thread-safe, so every
+ * chunk gets its own Faker and Random. With a seed, each chunk's Random is derived from the seed and the chunk index,
+ * so the same seed produces the same roster whatever the number of cores.
+ */
+@RequiredArgsConstructor
+public class MockEmployeeGenerator {
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    @NonNull private final Locale locale;
+
+    /** {@code null} for a different roster on every start. */
+    private final Long seed;
+
+    public List<MockEmployee> generate(int count) {
+        final var chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final var mockEmployees = new ArrayList<MockEmployee>(Math.max(0, count));
+        IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> generateChunk(chunk, Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .forEachOrdered(mockEmployees::addAll);
+        return mockEmployees;
+    }
+
+    private List<MockEmployee> generateChunk(int chunk, int size) {
+        final var random = seed == null ? new Random() : new Random(seed * 0x9E3779B97F4A7C15L + chunk);
+        final var faker = new Faker(locale, random);
+        final var mockEmployees = new ArrayList<MockEmployee>(size);
+        for (int i = 0; i < size; i++) {
+            mockEmployees.add(MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return mockEmployees;
+    }
+
+    /*
+     * Version 4 UUID drawn from the chunk's Random rather than UUID.randomUUID(), whose shared SecureRandom
+     * serialises the workers and cannot be seeded
+     */
+    private static UUID randomUuid(Random random) {
+        final long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long least = (random.nextLong() & ~(0xC000000000000000L)) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+}
@@ -4,11 +4,17 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.persistence.MockEmployeeJournal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,41 +24,131 @@ import org.springframework.stereotype.Service;
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class MockEmployeeService {
+public class MockEmployeeService implements MeterBinder {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    private final Optional<MockEmployeeJournal> mockEmployeeJournal;
+
+    private final MockEmployeeChangeLog changeLog;
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("mock.employees", mockEmployeeStore, MockEmployeeStore::size)
+                .description("Employees in the roster")
+                .register(registry);
+    }
+
+    /**
+     * @return an entity tag for the current version of the roster; it changes whenever an employee is created or
+     * deleted. Read it before the roster it describes, so that a concurrent mutation can only make it stale.
+     */
+    public String etag() {
+        return "\"" + changeLog.version() + "\"";
+    }
+
+    /**
+     * @param since a roster version, as issued in an entity tag or a previous {@link MockEmployeeChanges}
+     * @throws IllegalArgumentException if {@code since} is not a roster version
+     */
+    public MockEmployeeChanges changesSince(@NonNull String since) {
+        return changeLog.since(since);
+    }
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    /**
+     * @param cursor {@link MockEmployeePage#nextCursor()} of the previous page, or {@code null} for the first page
+     * @throws IllegalArgumentException if the cursor was not issued by this service
+     */
+    public MockEmployeePage getPage(String cursor, int limit) {
+        final long after = cursor == null ? -1 : Long.parseLong(cursor);
+        if (after < -1) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return mockEmployeeStore.page(after, limit);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
+    }
+
+    public int count() {
+        return mockEmployeeStore.size();
+    }
+
+    public OptionalInt highestSalary() {
+        return mockEmployeeStore.highestSalary();
+    }
+
+    public List<MockEmployee> topBySalary(int limit) {
+        return mockEmployeeStore.topBySalary(limit);
+    }
+
+    public OptionalInt salaryPercentile(double percentile) {
+        return mockEmployeeStore.salaryPercentile(percentile);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
-        return mockEmployee;
+        return createAll(List.of(input)).get(0);
+    }
+
+    /**
+     * Creates every employee of {@code inputs}; with persistence enabled they are logged and synced together, and
+     * none is created if that fails.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees = inputs.stream()
+                .map(input -> MockEmployee.from(
+                        ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase()),
+                        input))
+                .toList();
+        if (mockEmployees.isEmpty()) {
+            return mockEmployees;
+        }
+        final Supplier<List<MockEmployee>> apply = () -> {
+            mockEmployees.forEach(mockEmployee -> {
+                mockEmployeeStore.add(mockEmployee);
+                changeLog.created(mockEmployee);
+                log.debug("Added employee: {}", mockEmployee);
+            });
+            return mockEmployees;
+        };
+        return mockEmployeeJournal
+                .map(journal -> journal.created(mockEmployees, apply))
+                .orElseGet(apply);
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        while (true) {
+            final var mockEmployee = mockEmployeeStore.findFirstByName(input.getName());
+            if (mockEmployee.isEmpty()) {
+                return false;
+            }
+            if (deleteById(mockEmployee.get().getId()).isPresent()) {
+                return true;
+            }
+            // Deleted concurrently, try the next employee with that name
         }
+    }
 
-        return false;
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        if (mockEmployeeStore.findById(uuid).isEmpty()) {
+            return Optional.empty();
+        }
+        final Supplier<Optional<MockEmployee>> apply = () -> {
+            final var mockEmployee = mockEmployeeStore.remove(uuid);
+            mockEmployee.ifPresent(removed -> {
+                changeLog.deleted(removed);
+                log.debug("Removed employee: {}", removed);
+            });
+            return mockEmployee;
+        };
+        return mockEmployeeJournal.map(journal -> journal.deleted(uuid, apply)).orElseGet(apply);
     }
 }
@@ -0,0 +1,68 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import lombok.NonNull;
+
+/**
+ * Thread-safe storage for mock employees.
+ *
+ * Employees keep their insertion order, and every read is consistent with a single point in time. Engines are
+ * selected with {@code mock.storage}, see {@link Engine}.
+ */
+public interface MockEmployeeStore {
+
+    enum Engine {
+        /** {@link IndexedMockEmployeeStore}: employee objects with maintained indexes and salary aggregates. */
+        OBJECTS,
+        /** {@link ColumnarMockEmployeeStore}: primitive columns, for rosters with millions of employees. */
+        COLUMNAR
+    }
+
+    Optional<MockEmployee> findById(@NonNull UUID uuid);
+
+    /**
+     * Adds {@code mockEmployee} at the end of the roster, replacing any employee with the same id.
+     */
+    void add(@NonNull MockEmployee mockEmployee);
+
+    Optional<MockEmployee> remove(@NonNull UUID uuid);
+
+    /**
+     * @return the earliest-added employee whose name matches {@code name}, ignoring case
+     */
+    Optional<MockEmployee> findFirstByName(@NonNull String name);
+
+    /**
+     * @return the employees in insertion order, as of a single point in time
+     */
+    List<MockEmployee> snapshot();
+
+    /**
+     * @param after sequence of the last employee already seen, or -1 to start from the beginning
+     * @param limit maximum number of employees to return
+     * @return the employees added after {@code after}; deletions and insertions between pages never cause an
+     * employee to be skipped or repeated
+     */
+    MockEmployeePage page(long after, int limit);
+
+    int size();
+
+    OptionalInt highestSalary();
+
+    /**
+     * @return up to {@code limit} employees ordered by salary, highest first; ties keep insertion order
+     */
+    List<MockEmployee> topBySalary(int limit);
+
+    /**
+     * Nearest-rank percentile of all known salaries.
+     *
+     * @param percentile between 0 and 100
+     */
+    OptionalInt salaryPercentile(double percentile);
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Salary aggregates maintained incrementally as employees are added and removed.
+ *
+ * Employees are kept ordered by salary, so the maximum is O(log n) and the top N is O(N + log n). Percentiles walk a
+ * salary histogram, which costs O(distinct salaries) rather than O(employees). Not thread-safe on its own;
+ * {@link IndexedMockEmployeeStore} only touches it under its lock.
+ */
+class SalaryStatistics {
+
+    private static final Comparator<Ranked> BY_SALARY_DESCENDING =
+            Comparator.comparingInt(Ranked::salary).reversed().thenComparingLong(Ranked::sequence);
+
+    private final NavigableSet<Ranked> ranked = new TreeSet<>(BY_SALARY_DESCENDING);
+    private final NavigableMap<Integer, Integer> histogram = new TreeMap<>();
+
+    void added(long sequence, MockEmployee mockEmployee) {
+        if (mockEmployee.getSalary() == null) {
+            return;
+        }
+        ranked.add(new Ranked(mockEmployee.getSalary(), sequence, mockEmployee));
+        histogram.merge(mockEmployee.getSalary(), 1, Integer::sum);
+    }
+
+    void removed(long sequence, MockEmployee mockEmployee) {
+        if (mockEmployee.getSalary() == null) {
+            return;
+        }
+        ranked.remove(new Ranked(mockEmployee.getSalary(), sequence, mockEmployee));
+        histogram.computeIfPresent(mockEmployee.getSalary(), (salary, count) -> count > 1 ? count - 1 : null);
+    }
+
+    OptionalInt highestSalary() {
+        return ranked.isEmpty()
+                ? OptionalInt.empty()
+                : OptionalInt.of(ranked.first().salary());
+    }
+
+    List<MockEmployee> topBySalary(int limit) {
+        final var top = new ArrayList<MockEmployee>(Math.min(limit, ranked.size()));
+        for (final var entry : ranked) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(entry.employee());
+        }
+        return top;
+    }
+
+    /**
+     * Nearest-rank percentile of all known salaries.
+     *
+     * @param percentile between 0 and 100
+     */
+    OptionalInt salaryPercentile(double percentile) {
+        if (ranked.isEmpty()) {
+            return OptionalInt.empty();
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * ranked.size()));
+        long seen = 0;
+        for (final var bucket : histogram.entrySet()) {
+            seen += bucket.getValue();
+            if (seen >= rank) {
+                return OptionalInt.of(bucket.getKey());
+            }
+        }
+        return OptionalInt.of(histogram.lastKey());
+    }
+
+    private record Ranked(int salary, long sequence, MockEmployee employee) {}
+}
@@ -0,0 +1,162 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes roster mutations to subscribers as server-sent events, as they are recorded in the
+ * {@link MockEmployeeChangeLog}.
+ *
+ * Each {@code change} event carries a {@link MockEmployeeChange} and has the roster version it produced as its id,
+ * so a subscriber reconnecting with {@code Last-Event-ID} first receives what it missed. When those changes are no
+ * longer retained it receives a {@code resync} event instead and must fetch the roster again. A comment is sent to
+ * every subscriber each heartbeat interval so idle connections are kept open and dead ones are noticed.
+ *
+ * Events are sent from one thread, in version order; a subscriber that stops reading holds up the others until its
+ * connection times out, which is acceptable for a mock.
+ */
+@Slf4j
+@Component
+public class MockEmployeeEventPublisher implements MeterBinder {
+
+    private final MockEmployeeChangeLog changeLog;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService dispatcher;
+    private final Map<SseEmitter, Consumer<MockEmployeeChange>> subscribers = new ConcurrentHashMap<>();
+
+    public MockEmployeeEventPublisher(
+            MockEmployeeChangeLog changeLog,
+            @Value("${mock.events.heartbeat:15s}") Duration heartbeat,
+            @Value("${mock.events.timeout:30m}") Duration timeout) {
+        this.changeLog = changeLog;
+        this.timeoutMillis = timeout.toMillis();
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "roster-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var interval = heartbeat.toMillis();
+        dispatcher.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("mock.events.subscribers", subscribers, Map::size)
+                .description("Clients subscribed to roster events")
+                .register(registry);
+    }
+
+    /**
+     * @param lastEventId the id of the last event the subscriber received, or {@code null} for only the changes
+     * to come
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        final var emitter = new SseEmitter(timeoutMillis);
+        final Consumer<MockEmployeeChange> listener = change -> {
+            try {
+                dispatcher.execute(() -> send(emitter, change));
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the subscriber resumes from its last event once it reconnects
+            }
+        };
+        // Everything touching a subscription runs on the dispatcher, so it cannot be ended before it has begun
+        final Runnable unsubscribe = () -> dispatcher.execute(() -> unsubscribe(emitter));
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        // Subscribing on the dispatcher also queues every live change behind the backlog
+        dispatcher.execute(() -> {
+            MockEmployeeChanges backlog;
+            try {
+                backlog = changeLog.subscribe(lastEventId, listener);
+            } catch (IllegalArgumentException e) {
+                backlog = changeLog.subscribe(null, listener);
+                backlog = new MockEmployeeChanges(backlog.version(), true, backlog.changes());
+            }
+            subscribers.put(emitter, listener);
+            log.debug("Subscribed to roster events from {}, {} subscribers", lastEventId, subscribers.size());
+            try {
+                if (backlog.resync()) {
+                    emitter.send(SseEmitter.event()
+                            .name("resync")
+                            .id(backlog.version())
+                            .data(backlog.version(), MediaType.TEXT_PLAIN));
+                }
+                for (final var change : backlog.changes()) {
+                    emitter.send(event(change));
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(emitter, e);
+            }
+        });
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, MockEmployeeChange change) {
+        if (!subscribers.containsKey(emitter)) {
+            return;
+        }
+        try {
+            emitter.send(event(change));
+        } catch (IOException | IllegalStateException e) {
+            drop(emitter, e);
+        }
+    }
+
+    private SseEmitter.SseEventBuilder event(MockEmployeeChange change) {
+        return SseEmitter.event()
+                .name("change")
+                .id(changeLog.versionOf(change))
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private void heartbeat() {
+        for (final var emitter : subscribers.keySet()) {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                drop(emitter, e);
+            }
+        }
+    }
+
+    private void drop(SseEmitter emitter, Exception cause) {
+        log.debug("Dropping roster event subscriber: {}", cause.toString());
+        unsubscribe(emitter);
+        emitter.completeWithError(cause);
+    }
+
+    private void unsubscribe(SseEmitter emitter) {
+        final var listener = subscribers.remove(emitter);
+        if (listener != null) {
+            changeLog.unsubscribe(listener);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.keySet().forEach(SseEmitter::complete);
+    }
+}
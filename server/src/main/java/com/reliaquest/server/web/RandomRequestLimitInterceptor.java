@@ -1,10 +1,14 @@
 package com.reliaquest.server.web;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 import java.util.random.RandomGenerator;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
@@ -18,13 +22,33 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
     private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
 
+    private final Counter rejections;
+
+    private final Predicate<HttpServletRequest> uncharged;
+
+    /**
+     * @param uncharged requests that cost the server nothing to answer, such as a revalidation it will answer with
+     * 304 Not Modified; these are neither counted nor rejected
+     */
+    public RandomRequestLimitInterceptor(MeterRegistry meterRegistry, Predicate<HttpServletRequest> uncharged) {
+        this.uncharged = uncharged;
+        this.rejections = Counter.builder("mock.requests.rate.limited")
+                .description("Requests rejected with 429 Too Many Requests")
+                .register(meterRegistry);
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // A streamed response is dispatched a second time once it completes; only charge the original request
+        if (request.getDispatcherType() == DispatcherType.ASYNC || uncharged.test(request)) {
+            return true;
+        }
         if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
             if (Instant.now()
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isBefore(requestLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                rejections.increment();
                 return false;
             }
             if (Instant.now()
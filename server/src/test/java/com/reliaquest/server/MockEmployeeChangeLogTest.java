@@ -0,0 +1,89 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeChangeLogTest {
+
+    private final MockEmployeeChangeLog changeLog = new MockEmployeeChangeLog(3);
+    private final MockEmployee john = employee("John");
+    private final MockEmployee jane = employee("Jane");
+
+    @Test
+    public void testChangesSinceVersion() {
+        final var start = changeLog.version();
+        changeLog.created(john);
+        final var afterJohn = changeLog.version();
+        changeLog.created(jane);
+        changeLog.deleted(john);
+
+        final var changes = changeLog.since(start);
+
+        assertFalse(changes.resync());
+        assertEquals(changeLog.version(), changes.version());
+        assertEquals(
+                List.of(
+                        MockEmployeeChange.Type.CREATED,
+                        MockEmployeeChange.Type.CREATED,
+                        MockEmployeeChange.Type.DELETED),
+                changes.changes().stream().map(MockEmployeeChange::type).toList());
+        assertEquals(2, changeLog.since("\"" + afterJohn + "\"").changes().size());
+        assertEquals(List.of(), changeLog.since(changeLog.version()).changes());
+    }
+
+    @Test
+    public void testResyncOnceChangesAreNoLongerRetained() {
+        final var start = changeLog.version();
+        changeLog.created(john);
+        final var afterJohn = changeLog.version();
+        for (int i = 0; i < 3; i++) {
+            changeLog.created(employee("Jim"));
+        }
+
+        assertTrue(changeLog.since(start).resync());
+        assertFalse(changeLog.since(afterJohn).resync());
+        assertEquals(3, changeLog.since(afterJohn).changes().size());
+    }
+
+    @Test
+    public void testResyncOnVersionFromAnotherEpochOrFuture() {
+        final var version = changeLog.version();
+        final var epoch = version.substring(0, version.lastIndexOf('-'));
+
+        assertTrue(changeLog.since("0-0").resync());
+        assertTrue(changeLog.since(epoch + "-1").resync());
+        assertThrows(IllegalArgumentException.class, () -> changeLog.since("latest"));
+        assertThrows(IllegalArgumentException.class, () -> changeLog.since(epoch + "-x"));
+    }
+
+    @Test
+    public void testSubscriberReceivesBacklogThenLiveChanges() {
+        changeLog.created(john);
+        final var afterJohn = changeLog.version();
+        changeLog.created(jane);
+        final var received = new ArrayList<MockEmployeeChange>();
+
+        final var backlog = changeLog.subscribe(afterJohn, received::add);
+        changeLog.deleted(jane);
+
+        assertEquals(
+                List.of(jane),
+                backlog.changes().stream().map(MockEmployeeChange::employee).toList());
+        assertEquals(1, received.size());
+        assertEquals(changeLog.version(), changeLog.versionOf(received.get(0)));
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder().id(UUID.randomUUID()).name(name).build();
+    }
+}
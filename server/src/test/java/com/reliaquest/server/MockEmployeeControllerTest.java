@@ -0,0 +1,187 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"mock.rate-limit.enabled=false", "mock.events.heartbeat=100ms"})
+public class MockEmployeeControllerTest {
+
+    private static final String EMPLOYEES = "/api/v1/employee";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MockEmployeeService mockEmployeeService;
+
+    @Test
+    public void testRosterRevalidation() throws Exception {
+        final var roster = restTemplate.getForEntity(EMPLOYEES, String.class);
+        final var etag = roster.getHeaders().getETag();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, get(EMPLOYEES, etag).getStatusCode());
+        create("Jane");
+        final var changed = get(EMPLOYEES, etag);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+        assertNotEquals(etag, changed.getHeaders().getETag());
+    }
+
+    @Test
+    public void testChangesSinceVersion() throws Exception {
+        final var version = mockEmployeeService.etag();
+        final var jane = create("Jane");
+
+        final var changes = json(restTemplate.getForEntity(EMPLOYEES + "/changes?since={v}", String.class, version))
+                .get("data");
+
+        assertFalse(changes.get("resync").asBoolean());
+        assertEquals(1, changes.get("changes").size());
+        assertEquals("CREATED", changes.get("changes").get(0).get("type").asText());
+        assertEquals(
+                jane, changes.get("changes").get(0).get("employee").get("id").asText());
+        assertTrue(json(restTemplate.getForEntity(EMPLOYEES + "/changes?since=0-0", String.class))
+                .get("data")
+                .get("resync")
+                .asBoolean());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                restTemplate
+                        .getForEntity(EMPLOYEES + "/changes?since=latest", String.class)
+                        .getStatusCode());
+    }
+
+    @Test
+    public void testBulkCreationIsAllOrNothing() throws Exception {
+        final var count = mockEmployeeService.count();
+
+        final var invalid = restTemplate.postForEntity(
+                EMPLOYEES + "/bulk", List.of(input("Jane"), Map.of("name", "")), String.class);
+        final var created =
+                restTemplate.postForEntity(EMPLOYEES + "/bulk", List.of(input("Jane"), input("Jim")), String.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, invalid.getStatusCode());
+        assertEquals(HttpStatus.OK, created.getStatusCode());
+        assertEquals(2, json(created).get("data").size());
+        assertEquals(count + 2, mockEmployeeService.count());
+    }
+
+    @Test
+    public void testStatisticsRejectOutOfRangeParameters() {
+        assertEquals(
+                HttpStatus.OK,
+                restTemplate
+                        .getForEntity(EMPLOYEES + "/stats/topBySalary?limit=1000", String.class)
+                        .getStatusCode());
+        for (final var query : List.of(
+                "/stats/topBySalary?limit=0",
+                "/stats/topBySalary?limit=1001",
+                "/stats/topBySalary?limit=2147483647",
+                "/stats/salaryPercentiles?p=NaN",
+                "/stats/salaryPercentiles?p=50,Infinity",
+                "/stats/salaryPercentiles?p=100.5")) {
+            assertEquals(
+                    HttpStatus.BAD_REQUEST,
+                    restTemplate.getForEntity(EMPLOYEES + query, String.class).getStatusCode(),
+                    query);
+        }
+    }
+
+    @Test
+    public void testDeleteById() throws Exception {
+        final var jane = create("Jane");
+
+        final var deleted = restTemplate.exchange(EMPLOYEES + "/{id}", HttpMethod.DELETE, null, String.class, jane);
+
+        assertEquals(HttpStatus.OK, deleted.getStatusCode());
+        assertEquals("Jane", json(deleted).get("data").get("employee_name").asText());
+        assertEquals(
+                HttpStatus.NOT_FOUND,
+                restTemplate
+                        .exchange(EMPLOYEES + "/{id}", HttpMethod.DELETE, null, String.class, jane)
+                        .getStatusCode());
+        assertEquals(
+                HttpStatus.NOT_FOUND,
+                restTemplate
+                        .getForEntity(EMPLOYEES + "/{id}", String.class, jane)
+                        .getStatusCode());
+    }
+
+    @Test
+    public void testEventsResumeFromLastEventIdWithHeartbeats() throws Exception {
+        final var version = mockEmployeeService.etag().replace("\"", "");
+        final var jane = create("Jane");
+        final var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + EMPLOYEES + "/events"))
+                .header("Last-Event-ID", version)
+                .build();
+
+        final var lines = new ArrayList<String>();
+        final var stream = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofLines())
+                .body();
+        // The missed creation is replayed first, then heartbeats keep the idle stream open
+        try (stream) {
+            CompletableFuture.runAsync(() ->
+                            stream.takeWhile(line -> !line.startsWith(":")).forEach(lines::add))
+                    .get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals("event:change", lines.get(0).replace(" ", ""));
+        assertEquals(
+                "id:" + mockEmployeeService.etag().replace("\"", ""),
+                lines.get(1).replace(" ", ""));
+        assertTrue(lines.get(2).contains(jane));
+    }
+
+    private String create(String name) throws Exception {
+        return json(restTemplate.postForEntity(EMPLOYEES, input(name), String.class))
+                .get("data")
+                .get("id")
+                .asText();
+    }
+
+    private ResponseEntity<String> get(String path, String etag) {
+        final var headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private JsonNode json(ResponseEntity<String> response) throws Exception {
+        return objectMapper.readTree(response.getBody());
+    }
+
+    private static Map<String, Object> input(String name) {
+        return Map.of("name", name, "salary", 50000, "age", 30, "title", "Dev");
+    }
+}
@@ -0,0 +1,156 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.MockEmployeeJournal;
+import com.reliaquest.server.persistence.WriteAheadLog;
+import com.reliaquest.server.service.IndexedMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MockEmployeeJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void testRosterIsRestoredFromSnapshotAndLog() throws IOException {
+        final var john = employee("John", 50000);
+        final var jane = employee("Jane", null);
+        final var jim = employee("Jim", 70000);
+
+        final var journal = journal(directory);
+        final var store = journal.recover(() -> List.of(john), IndexedMockEmployeeStore::new);
+        journal.created(List.of(jane, jim), () -> {
+            store.add(jane);
+            store.add(jim);
+            return null;
+        });
+        journal.deleted(john.getId(), () -> store.remove(john.getId()));
+        journal.deleted(UUID.randomUUID(), () -> null);
+
+        // A copy taken now is what a crash would leave: the seed snapshot and the log written since
+        final var crashed = Files.createDirectory(directory.resolve("crashed"));
+        try (final var files = Files.list(directory)) {
+            for (final var file : files.filter(Files::isRegularFile).toList()) {
+                Files.copy(file, crashed.resolve(file.getFileName()));
+            }
+        }
+        final var restored = journal(crashed);
+        assertEquals(
+                List.of(jane, jim),
+                restored.recover(List::of, IndexedMockEmployeeStore::new).snapshot());
+        restored.close();
+
+        // A clean shutdown compacts the log into the snapshot
+        journal.close();
+        final var reopened = journal(directory);
+        assertEquals(
+                List.of(jane, jim),
+                reopened.recover(List::of, IndexedMockEmployeeStore::new).snapshot());
+        reopened.close();
+    }
+
+    @Test
+    public void testReplayStopsAtTornRecord() throws IOException {
+        final var mockEmployees = List.of(employee("John", 1), employee("Jane", 2), employee("Jim", 3));
+        final var writeAheadLog = new WriteAheadLog(directory, 0);
+        for (final var mockEmployee : mockEmployees) {
+            writeAheadLog.appendCreate(mockEmployee).join();
+        }
+        writeAheadLog.close();
+        try (final var channel = FileChannel.open(directory.resolve(segment(0)), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        final var replayed = new ArrayList<MockEmployee>();
+        final var next = WriteAheadLog.replay(directory, 0, mutation -> replayed.add(mutation.created()));
+
+        assertEquals(1, next);
+        assertEquals(mockEmployees.subList(0, 2), replayed);
+    }
+
+    @Test
+    public void testMutationThatCannotBeLoggedIsNotApplied() throws IOException {
+        final var john = employee("John", 50000);
+        final var journal = journal(directory);
+        final var store = journal.recover(() -> List.of(john), IndexedMockEmployeeStore::new);
+        final var changeLog = new MockEmployeeChangeLog(10);
+        final var service = service(store, journal, changeLog);
+        final var version = changeLog.version();
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> service.create(input("Jane")));
+        assertThrows(IllegalStateException.class, () -> service.deleteById(john.getId()));
+
+        assertEquals(List.of(john), store.snapshot());
+        assertEquals(version, changeLog.version());
+    }
+
+    @Test
+    public void testCreatedEmployeesAreReplayedInOrder() throws IOException {
+        final var journal = journal(directory);
+        final var store = journal.recover(List::of, IndexedMockEmployeeStore::new);
+        final var service = service(store, journal, new MockEmployeeChangeLog(10));
+
+        final var created = new ArrayList<>(service.createAll(List.of(input("John"), input("Jane"), input("Jim"))));
+        created.add(service.create(input("Joe")));
+
+        final var replayed = new ArrayList<MockEmployee>();
+        WriteAheadLog.replay(directory, 0, mutation -> replayed.add(mutation.created()));
+        assertEquals(created, replayed);
+        assertEquals(created, store.snapshot());
+        journal.close();
+    }
+
+    private static MockEmployeeJournal journal(Path directory) {
+        return new MockEmployeeJournal(directory, Duration.ofHours(1));
+    }
+
+    private static MockEmployeeService service(
+            MockEmployeeStore store, MockEmployeeJournal journal, MockEmployeeChangeLog changeLog) {
+        return new MockEmployeeService(new Faker(Locale.ROOT), store, Optional.of(journal), changeLog);
+    }
+
+    private static String segment(long number) {
+        return "wal-%020d.log".formatted(number);
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(50000);
+        input.setAge(30);
+        input.setTitle("Dev");
+        return input;
+    }
+
+    private static MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Dev")
+                .email(name.toLowerCase(Locale.ROOT) + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.reliaquest.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.ColumnarMockEmployeeStore;
+import com.reliaquest.server.service.IndexedMockEmployeeStore;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Every engine must answer exactly like {@link IndexedMockEmployeeStore}, the reference engine.
+ */
+public class MockEmployeeStoreTest {
+
+    private static final List<String> NAMES = List.of("John", "Jane", "Jim", "JOHN", "Joe");
+    private static final List<String> TITLES = List.of("Dev", "Manager", "Director");
+
+    @ParameterizedTest
+    @EnumSource(MockEmployeeStore.Engine.class)
+    public void testEngineAnswersLikeIndexedStore(MockEmployeeStore.Engine engine) {
+        final var random = new Random(42);
+        final var seed = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 500; i++) {
+            seed.add(employee(random));
+        }
+        final var expected = new IndexedMockEmployeeStore(seed);
+        final var actual = store(engine, seed);
+        final var ids =
+                new ArrayList<UUID>(seed.stream().map(MockEmployee::getId).toList());
+
+        // Enough deletes to trigger the columnar engine's compaction
+        for (int i = 0; i < 5000; i++) {
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    final var mockEmployee = employee(random);
+                    expected.add(mockEmployee);
+                    actual.add(mockEmployee);
+                    ids.add(mockEmployee.getId());
+                }
+                case 1 -> {
+                    if (!ids.isEmpty()) {
+                        final var id = ids.remove(random.nextInt(ids.size()));
+                        assertEquals(expected.remove(id), actual.remove(id));
+                    }
+                }
+                case 2 -> {
+                    final var name = NAMES.get(random.nextInt(NAMES.size()));
+                    final var found = expected.findFirstByName(name);
+                    assertEquals(found, actual.findFirstByName(name));
+                    found.ifPresent(mockEmployee -> {
+                        ids.remove(mockEmployee.getId());
+                        expected.remove(mockEmployee.getId());
+                        actual.remove(mockEmployee.getId());
+                    });
+                }
+                default -> {
+                    final var percentile = random.nextInt(101);
+                    assertEquals(expected.salaryPercentile(percentile), actual.salaryPercentile(percentile));
+                }
+            }
+            if (i % 250 == 0) {
+                assertSameAnswers(expected, actual);
+            }
+        }
+        assertSameAnswers(expected, actual);
+        assertEquals(expected.findById(UUID.randomUUID()), actual.findById(UUID.randomUUID()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(MockEmployeeStore.Engine.class)
+    public void testTopBySalaryWithHugeLimit(MockEmployeeStore.Engine engine) {
+        final var random = new Random(7);
+        final var seed = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 20; i++) {
+            seed.add(employee(random));
+        }
+
+        // Sized by the roster rather than the limit, so this allocates nothing near Integer.MAX_VALUE
+        final var top = store(engine, seed).topBySalary(Integer.MAX_VALUE);
+
+        assertEquals(new IndexedMockEmployeeStore(seed).topBySalary(Integer.MAX_VALUE), top);
+        assertEquals(seed.stream().filter(e -> e.getSalary() != null).count(), top.size());
+    }
+
+    private static void assertSameAnswers(MockEmployeeStore expected, MockEmployeeStore actual) {
+        assertEquals(expected.snapshot(), actual.snapshot());
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.highestSalary(), actual.highestSalary());
+        assertEquals(expected.topBySalary(10), actual.topBySalary(10));
+        for (final var percentile : new double[] {0, 0.1, 50, 90, 99.9, 100}) {
+            assertEquals(expected.salaryPercentile(percentile), actual.salaryPercentile(percentile));
+        }
+        for (final var mockEmployee : expected.snapshot()) {
+            assertEquals(mockEmployee, actual.findById(mockEmployee.getId()).orElseThrow());
+        }
+        // Pages are keyed by sequence, which both engines assign in insertion order
+        String cursor = null;
+        do {
+            final var page = expected.page(cursor == null ? -1 : Long.parseLong(cursor), 64);
+            assertEquals(page, actual.page(cursor == null ? -1 : Long.parseLong(cursor), 64));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+    }
+
+    private static MockEmployeeStore store(MockEmployeeStore.Engine engine, List<MockEmployee> mockEmployees) {
+        return switch (engine) {
+            case OBJECTS -> new IndexedMockEmployeeStore(mockEmployees);
+            case COLUMNAR -> new ColumnarMockEmployeeStore(mockEmployees);
+        };
+    }
+
+    private static MockEmployee employee(Random random) {
+        final var name = NAMES.get(random.nextInt(NAMES.size()));
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                // Few distinct salaries, so there are ties to order, and some unknown ones
+                .salary(random.nextInt(10) == 0 ? null : 1000 * (1 + random.nextInt(50)))
+                .age(random.nextInt(10) == 0 ? null : 16 + random.nextInt(60))
+                .title(TITLES.get(random.nextInt(TITLES.size())))
+                .email(random.nextInt(10) == 0 ? null : name.toLowerCase() + "@company.com")
+                .build();
+    }
+}